@@ -45,11 +45,21 @@ public class AchievementData {
 	@JsonProperty("TrueRatio")
 	private int realPoints = 0;
 
-	@JsonProperty("icon")
-	private String iconUnlockedURL = "";
+	// Icon URLs are stored as a shared prefix and a file name, data URIs are
+	// stored whole with an empty prefix
+	private String iconUnlockedPrefix = "";
 
-	@JsonProperty("icongray")
-	private String iconLockedURL = "";
+	private String iconUnlockedName = "";
+
+	private String iconLockedPrefix = "";
+
+	private String iconLockedName = "";
+
+	// Joined on first read, so that serializing the achievement again does not
+	// copy the URL. Held softly like the achievement list itself
+	private volatile String joinedIconUnlockedURL = null;
+
+	private volatile String joinedIconLockedURL = null;
 
 	@JsonProperty("BadgeName")
 	private int badgeId = 0;
@@ -141,20 +151,49 @@ public class AchievementData {
 		this.realPoints = realPoints;
 	}
 
+	/**
+	 * Icons without prefix, like base64 data URIs, are returned as stored
+	 * instead of being copied
+	 */
+	private static String joinIconURL(final String prefix, final String name) {
+		if (name == null || prefix.isEmpty()) {
+			return name;
+		}
+		return prefix + name;
+	}
+
+	@JsonProperty("icongray")
 	public String getIconLockedURL() {
-		return iconLockedURL;
+		String url = joinedIconLockedURL;
+		if (url == null) {
+			url = joinIconURL(iconLockedPrefix, iconLockedName);
+			joinedIconLockedURL = url;
+		}
+		return url;
 	}
 
+	@JsonProperty("icongray")
 	public void setIconLockedURL(String iconLockedURL) {
-		this.iconLockedURL = iconLockedURL;
+		this.iconLockedPrefix = StringPool.getURLPrefix(iconLockedURL);
+		this.iconLockedName = StringPool.getURLSuffix(iconLockedURL);
+		this.joinedIconLockedURL = null;
 	}
 
+	@JsonProperty("icon")
 	public String getIconUnlockedURL() {
-		return iconUnlockedURL;
+		String url = joinedIconUnlockedURL;
+		if (url == null) {
+			url = joinIconURL(iconUnlockedPrefix, iconUnlockedName);
+			joinedIconUnlockedURL = url;
+		}
+		return url;
 	}
 
+	@JsonProperty("icon")
 	public void setIconUnlockedURL(String iconUnlockedURL) {
-		this.iconUnlockedURL = iconUnlockedURL;
+		this.iconUnlockedPrefix = StringPool.getURLPrefix(iconUnlockedURL);
+		this.iconUnlockedName = StringPool.getURLSuffix(iconUnlockedURL);
+		this.joinedIconUnlockedURL = null;
 	}
 
 	public int getBadgeId() {
@@ -0,0 +1,11 @@
+package perso.project.model;
+
+import java.util.List;
+
+/**
+ * Reads achievements of a game that were not kept in memory
+ */
+@FunctionalInterface
+public interface AchievementLoader {
+	List<AchievementData> load();
+}
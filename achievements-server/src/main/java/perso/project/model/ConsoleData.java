@@ -1,8 +1,10 @@
 package perso.project.model;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -25,7 +27,11 @@ public class ConsoleData {
 	@JsonProperty("Source")
 	private ConsoleSourceEnum source = null;
 
-	private Map<Integer, GameData> gameDataMap = new HashMap<>();
+	// Created from game data while offline, replaced by the real console metadata
+	@JsonIgnore
+	private boolean isPlaceholder = false;
+
+	private final Map<Integer, GameData> gameDataMap = new ConcurrentHashMap<>();
 
 	public int getId() {
 		return id;
@@ -67,8 +73,31 @@ public class ConsoleData {
 		this.source = source;
 	}
 
+	@JsonIgnore
+	public boolean isPlaceholder() {
+		return isPlaceholder;
+	}
+
+	@JsonIgnore
+	public void setPlaceholder(boolean isPlaceholder) {
+		this.isPlaceholder = isPlaceholder;
+	}
+
 	public Map<Integer, GameData> getGameDataMap() {
-		return gameDataMap;
+		return Collections.unmodifiableMap(gameDataMap);
+	}
+
+	/**
+	 * Only called by {@link Model}, which serializes writes and keeps its index
+	 * 
+	 * @param game
+	 */
+	void putGameData(final GameData game) {
+		gameDataMap.put(game.getId(), game);
+	}
+
+	void removeGameData(final int gameId) {
+		gameDataMap.remove(gameId);
 	}
 
 	@Override
@@ -1,5 +1,6 @@
 package perso.project.model;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -71,7 +72,12 @@ public class GameData {
 	private CompletionStatusEnum completionStatus = CompletionStatusEnum.NOT_PLAYED;
 
 	@JsonProperty("AchievementData")
-	private List<AchievementData> achievementData = new ArrayList<>();
+	private volatile List<AchievementData> achievementData = new ArrayList<>();
+
+	// Set when achievements can be read again from the database
+	private volatile AchievementLoader achievementLoader = null;
+
+	private volatile SoftReference<List<AchievementData>> releasedAchievementData = null;
 
 	@JsonProperty("Image")
 	private String imageURL = "";
@@ -91,7 +97,45 @@ public class GameData {
 				+ "Console name : " + getConsoleName() + '\n' + "Total achievements : " + getTotalAchievements() + '\n'
 				+ "Awarded achievements : " + getAwardedAchievements() + '\n' + "Total points : " + getTotalPoints()
 				+ '\n' + "Completion status : " + getCompletionStatus() + '\n' + "Achievements number : "
-				+ getAchievementData().size();
+				+ (isAchievementDataLoaded() ? achievementData.size() : "not loaded");
+	}
+
+	/**
+	 * Achievements are shared with the copy, a new list is always set instead of
+	 * editing the current one
+	 * 
+	 * @return Copy of the game, not changed by later writes to this game
+	 */
+	GameData copy() {
+		final GameData copy = new GameData();
+		copy.id = id;
+		copy.title = title;
+		copy.consoleId = consoleId;
+		copy.consoleName = consoleName;
+		copy.totalAchievements = totalAchievements;
+		copy.awardedAchievements = awardedAchievements;
+		copy.percent = percent;
+		copy.totalPoints = totalPoints;
+		copy.truePoints = truePoints;
+		copy.earnedPoints = earnedPoints;
+		copy.earnedTruePoints = earnedTruePoints;
+		copy.ratio = ratio;
+		copy.earnedRatio = earnedRatio;
+		copy.totalPlayers = totalPlayers;
+		copy.awardKind = awardKind;
+		copy.completionStatus = completionStatus;
+		copy.achievementLoader = achievementLoader;
+		copy.releasedAchievementData = releasedAchievementData;
+		copy.achievementData = achievementData;
+		if (achievementLoader != null) {
+			// Kept snapshots must not hold achievements the game released
+			copy.releaseAchievementData(achievementLoader);
+		}
+		copy.imageURL = imageURL;
+		copy.imageBase64 = imageBase64;
+		copy.UUID = UUID;
+		copy.localData = localData;
+		return copy;
 	}
 
 	public int getId() {
@@ -123,7 +167,7 @@ public class GameData {
 	}
 
 	public void setConsoleName(String consoleName) {
-		this.consoleName = consoleName;
+		this.consoleName = StringPool.get(consoleName);
 	}
 
 	public int getTotalAchievements() {
@@ -211,7 +255,7 @@ public class GameData {
 	}
 
 	public void setAwardKind(String awardKind) {
-		this.awardKind = awardKind;
+		this.awardKind = StringPool.get(awardKind);
 	}
 
 	public CompletionStatusEnum getCompletionStatus() {
@@ -222,12 +266,63 @@ public class GameData {
 		this.completionStatus = completionStatus;
 	}
 
+	/**
+	 * Achievements not in memory are read with the loader and kept until released
+	 * again
+	 * 
+	 * @return Achievements of the game
+	 */
 	public List<AchievementData> getAchievementData() {
-		return achievementData;
+		List<AchievementData> data = achievementData;
+		if (data != null) {
+			return data;
+		}
+		final SoftReference<List<AchievementData>> released = releasedAchievementData;
+		data = released == null ? null : released.get();
+		if (data == null) {
+			final AchievementLoader loader = achievementLoader;
+			data = loader == null ? new ArrayList<>() : new ArrayList<>(loader.load());
+		}
+		achievementData = data;
+		releasedAchievementData = null;
+		return data;
 	}
 
 	public void setAchievementData(List<AchievementData> achievementData) {
 		this.achievementData = achievementData;
+		this.releasedAchievementData = null;
+	}
+
+	@JsonIgnore
+	public boolean isAchievementDataLoaded() {
+		return achievementData != null;
+	}
+
+	/**
+	 * Achievements are not in memory, they are read with the loader on first
+	 * access
+	 * 
+	 * @param loader
+	 */
+	@JsonIgnore
+	public void setAchievementLoader(final AchievementLoader loader) {
+		achievementLoader = loader;
+		releasedAchievementData = null;
+		achievementData = null;
+	}
+
+	/**
+	 * Achievements are only kept softly, so that they can be collected under
+	 * memory pressure and read again with the loader
+	 * 
+	 * @param loader
+	 */
+	@JsonIgnore
+	public void releaseAchievementData(final AchievementLoader loader) {
+		final List<AchievementData> data = achievementData;
+		achievementLoader = loader;
+		releasedAchievementData = data == null ? releasedAchievementData : new SoftReference<>(data);
+		achievementData = null;
 	}
 
 	public String getImageURL() {
@@ -1,13 +1,19 @@
 package perso.project.model;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import perso.project.model.enums.ConsoleSourceEnum;
 
+/**
+ * Reads are lock free. Game writes are serialized per console. Games are also
+ * kept by source so that reading one source does not scan all consoles
+ */
 public class Model {
 	public static final int STEAM_CONSOLE_ID = 100000;
 	public static final int PS3_CONSOLE_ID = 200000;
@@ -18,33 +24,200 @@ public class Model {
 	public static final String DEFAULT_LOCKED_ICON = "default_locked.png";
 	public static final String DEFAULT_UNLOCKED_ICON = "default_unlocked.png";
 
-	private final Map<Integer, ConsoleData> consoleDataMap = new HashMap<>();
+	private final Map<Integer, ConsoleData> consoleDataMap = new ConcurrentHashMap<>();
 
-	private final Map<String, PlayniteGameData> playniteData = new HashMap<>();
+	private volatile Map<String, PlayniteGameData> playniteData = Map.of();
 
-	private final Map<String, String> standaloneGamesByIds = new HashMap<>();
+	private volatile Map<String, String> standaloneGamesByIds = Map.of();
+
+	private final Map<ConsoleSourceEnum, SourceGames> gamesBySource = new EnumMap<>(ConsoleSourceEnum.class);
+
+	public Model() {
+		for (final ConsoleSourceEnum source : ConsoleSourceEnum.values()) {
+			gamesBySource.put(source, new SourceGames());
+		}
+	}
 
 	public Map<Integer, ConsoleData> getConsoleDataMap() {
-		return consoleDataMap;
+		return Collections.unmodifiableMap(consoleDataMap);
+	}
+
+	/**
+	 * Adds console if no console exists for its id. Otherwise the existing console
+	 * takes the metadata of the console, and keeps its games. A placeholder never
+	 * replaces real metadata
+	 *
+	 * @param console
+	 * @return Console stored in the model
+	 */
+	public ConsoleData putConsoleData(final ConsoleData console) {
+		final ConsoleData existing = consoleDataMap.putIfAbsent(console.getId(), console);
+		if (existing == null) {
+			return console;
+		}
+		if (existing != console && !console.isPlaceholder()) {
+			synchronized (existing) {
+				existing.setName(console.getName());
+				existing.setActive(console.isActive());
+				existing.setGameSystem(console.isGameSystem());
+				existing.setSource(console.getSource());
+				existing.setPlaceholder(false);
+			}
+		}
+		return existing;
 	}
 
 	public Map<String, PlayniteGameData> getPlayniteData() {
 		return playniteData;
 	}
 
+	/**
+	 * Replaces all Playnite data at once
+	 *
+	 * @param playniteData
+	 */
+	public void setPlayniteData(final Map<String, PlayniteGameData> playniteData) {
+		this.playniteData = Map.copyOf(playniteData);
+	}
+
 	public Map<String, String> getStandaloneGamesByIds() {
 		return standaloneGamesByIds;
 	}
 
+	/**
+	 * Replaces all standalone game ids at once
+	 *
+	 * @param standaloneGamesByIds
+	 */
+	public void setStandaloneGamesByIds(final Map<String, String> standaloneGamesByIds) {
+		this.standaloneGamesByIds = Map.copyOf(standaloneGamesByIds);
+	}
+
+	/**
+	 * Adds game to its console and to the games of its source, recorded as a
+	 * change to persist
+	 *
+	 * @param console
+	 * @param game
+	 */
+	public void putGameData(final ConsoleData console, final GameData game) {
+		putGameData(console, game, true);
+	}
+
+	/**
+	 * Same as {@link #putGameData(ConsoleData, GameData)} for games read from the
+	 * database, not recorded as a change
+	 *
+	 * @param console
+	 * @param game
+	 */
+	public void loadGameData(final ConsoleData console, final GameData game) {
+		putGameData(console, game, false);
+	}
+
+	private void putGameData(final ConsoleData console, final GameData game, final boolean track) {
+		synchronized (console) {
+			console.putGameData(game);
+			if (console.getSource() != null) {
+				gamesBySource.get(console.getSource()).put(game, track);
+			}
+		}
+	}
+
+	/**
+	 * Removes game from its console and from the games of its source, recorded as
+	 * a change to persist
+	 *
+	 * @param console
+	 * @param gameId
+	 */
+	public void removeGameData(final ConsoleData console, final int gameId) {
+		removeGameData(console, gameId, true);
+	}
+
+	/**
+	 * Same as {@link #removeGameData(ConsoleData, int)} for removals read from the
+	 * database, not recorded as a change
+	 *
+	 * @param console
+	 * @param gameId
+	 */
+	public void unloadGameData(final ConsoleData console, final int gameId) {
+		removeGameData(console, gameId, false);
+	}
+
+	private void removeGameData(final ConsoleData console, final int gameId, final boolean track) {
+		synchronized (console) {
+			console.removeGameData(gameId);
+			if (console.getSource() != null) {
+				gamesBySource.get(console.getSource()).remove(gameId, track);
+			}
+		}
+	}
+
+	/**
+	 * @param source
+	 * @param gameId
+	 * @return True if the game changed since the last drain
+	 */
+	public boolean isChanged(final ConsoleSourceEnum source, final int gameId) {
+		return gamesBySource.get(source).isChanged(gameId);
+	}
+
+	/**
+	 * @param source
+	 * @return Changes of the source since the last call
+	 */
+	public SourceChanges drainChanges(final ConsoleSourceEnum source) {
+		return gamesBySource.get(source).drainChanges();
+	}
+
+	/**
+	 * Records drained changes again, when they could not be persisted
+	 *
+	 * @param source
+	 * @param changes
+	 */
+	public void restoreChanges(final ConsoleSourceEnum source, final SourceChanges changes) {
+		gamesBySource.get(source).restoreChanges(changes);
+	}
+
+	/**
+	 * @param source
+	 * @param gameId
+	 * @return Game of the source
+	 */
+	public Optional<GameData> getGameData(final ConsoleSourceEnum source, final int gameId) {
+		return Optional.ofNullable(gamesBySource.get(source).get(gameId));
+	}
+
+	/**
+	 * Games are copies, so that serializing them does not race with refreshes.
+	 * Only sources written since the last call are copied again. A game written
+	 * while it is copied can still mix old and new values
+	 * 
+	 * @param sources
+	 * @return Read only copies of the games of the sources
+	 */
 	public List<GameData> getGameDataForSources(final List<ConsoleSourceEnum> sources) {
-		return consoleDataMap.values().stream().filter(c -> sources.contains(c.getSource()))
-				.map(c -> c.getGameDataMap().values()).flatMap(Collection::stream).toList();
+		if (sources.size() == 1) {
+			return gamesBySource.get(sources.get(0)).getSnapshot();
+		}
+		return sources.stream().distinct().map(source -> gamesBySource.get(source).getSnapshot())
+				.flatMap(List::stream).toList();
+	}
+
+	/**
+	 * @param source
+	 * @return Live games of the source, for the database which persists and
+	 *         releases them
+	 */
+	public Collection<GameData> getLiveGameData(final ConsoleSourceEnum source) {
+		return gamesBySource.get(source).getGames();
 	}
 
 	public List<PlayniteGameData> getPlayniteGameDataForSources(final List<ConsoleSourceEnum> sources) {
-		synchronized (playniteData) {
-			final List<PlayniteGameData> data = new ArrayList<>(playniteData.values());
-			return data.stream().filter(g -> g.getSource() != null && sources.contains(g.getSource())).toList();
-		}
+		return playniteData.values().stream().filter(g -> g.getSource() != null && sources.contains(g.getSource()))
+				.toList();
 	}
 }
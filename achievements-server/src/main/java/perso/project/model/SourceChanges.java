@@ -0,0 +1,12 @@
+package perso.project.model;
+
+import java.util.List;
+
+/**
+ * Games of a source written or removed since the last drain
+ */
+public record SourceChanges(List<GameData> upserted, List<GameData> removed) {
+	public boolean isEmpty() {
+		return upserted.isEmpty() && removed.isEmpty();
+	}
+}
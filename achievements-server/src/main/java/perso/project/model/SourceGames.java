@@ -0,0 +1,117 @@
+package perso.project.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live games of one source by id. The read only snapshot holds copies of the
+ * games, rebuilt only when a game was put or removed since the last read.
+ * Changes not yet persisted are kept until drained
+ */
+class SourceGames {
+	private record Snapshot(long version, List<GameData> games) {
+	}
+
+	private final Map<Integer, GameData> games = new ConcurrentHashMap<>();
+
+	private final AtomicLong version = new AtomicLong();
+
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0, List.of()));
+
+	private final Set<Integer> changedIds = new HashSet<>();
+
+	private final Map<Integer, GameData> removedGames = new HashMap<>();
+
+	void put(final GameData game, final boolean track) {
+		games.put(game.getId(), game);
+		version.incrementAndGet();
+		if (track) {
+			synchronized (changedIds) {
+				changedIds.add(game.getId());
+				removedGames.remove(game.getId());
+			}
+		}
+	}
+
+	void remove(final int gameId, final boolean track) {
+		final GameData removed = games.remove(gameId);
+		if (removed == null) {
+			return;
+		}
+		version.incrementAndGet();
+		if (track) {
+			synchronized (changedIds) {
+				changedIds.remove(gameId);
+				removedGames.put(gameId, removed);
+			}
+		}
+	}
+
+	boolean isChanged(final int gameId) {
+		synchronized (changedIds) {
+			return changedIds.contains(gameId);
+		}
+	}
+
+	SourceChanges drainChanges() {
+		synchronized (changedIds) {
+			final List<GameData> upserted = new ArrayList<>();
+			changedIds.forEach(id -> {
+				final GameData game = games.get(id);
+				if (game != null) {
+					upserted.add(game);
+				}
+			});
+			final SourceChanges changes = new SourceChanges(List.copyOf(upserted),
+					List.copyOf(removedGames.values()));
+			changedIds.clear();
+			removedGames.clear();
+			return changes;
+		}
+	}
+
+	void restoreChanges(final SourceChanges changes) {
+		synchronized (changedIds) {
+			// Changes made since the drain are newer and kept as they are
+			changes.upserted().forEach(game -> {
+				if (!removedGames.containsKey(game.getId())) {
+					changedIds.add(game.getId());
+				}
+			});
+			changes.removed().forEach(game -> {
+				if (!games.containsKey(game.getId()) && !changedIds.contains(game.getId())) {
+					removedGames.putIfAbsent(game.getId(), game);
+				}
+			});
+		}
+	}
+
+	GameData get(final int gameId) {
+		return games.get(gameId);
+	}
+
+	Collection<GameData> getGames() {
+		return Collections.unmodifiableCollection(games.values());
+	}
+
+	List<GameData> getSnapshot() {
+		final long currentVersion = version.get();
+		final Snapshot current = snapshot.get();
+		if (current.version() == currentVersion) {
+			return current.games();
+		}
+		final Snapshot rebuilt = new Snapshot(currentVersion,
+				games.values().stream().map(GameData::copy).toList());
+		snapshot.set(rebuilt);
+		return rebuilt.games();
+	}
+}
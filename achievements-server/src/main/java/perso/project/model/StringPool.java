@@ -0,0 +1,50 @@
+package perso.project.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares a single instance of strings repeated across many games, like console
+ * names, award kinds or icon URL prefixes
+ */
+public final class StringPool {
+	private static final Map<String, String> POOL = new ConcurrentHashMap<>();
+
+	private StringPool() {
+	}
+
+	/**
+	 * @param value
+	 * @return Shared instance equal to value
+	 */
+	public static String get(final String value) {
+		if (value == null || value.isEmpty()) {
+			return value;
+		}
+		final String existing = POOL.putIfAbsent(value, value);
+		return existing == null ? value : existing;
+	}
+
+	/**
+	 * @param url
+	 * @return Shared prefix of the url up to its last '/', empty if not an HTTP
+	 *         url, like a data URI kept whole
+	 */
+	public static String getURLPrefix(final String url) {
+		if (url == null || !url.startsWith("http")) {
+			return "";
+		}
+		return get(url.substring(0, url.lastIndexOf('/') + 1));
+	}
+
+	/**
+	 * @param url
+	 * @return Part of the url after {@link #getURLPrefix(String)}
+	 */
+	public static String getURLSuffix(final String url) {
+		if (url == null || !url.startsWith("http")) {
+			return url;
+		}
+		return url.substring(url.lastIndexOf('/') + 1);
+	}
+}
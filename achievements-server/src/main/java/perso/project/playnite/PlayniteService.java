@@ -4,6 +4,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,32 +34,31 @@ public class PlayniteService {
 	static final int SOURCE_COLUMN = 4;
 
 	public void getPlayniteData(final Path path) {
-		final Map<String, PlayniteGameData> playniteDataMap = model.getPlayniteData();
-		synchronized (playniteDataMap) {
-			playniteDataMap.clear();
-			final RFC4180Parser rfc4180Parser = new RFC4180ParserBuilder().build();
-			try (final FileReader fileReader = new FileReader(path.toFile(), StandardCharsets.UTF_8)) {
-				final CSVReader reader = new CSVReaderBuilder(fileReader).withCSVParser(rfc4180Parser).build();
-				// Read headers
-				reader.readNextSilently();
-				final List<String[]> stringList = reader.readAll();
-				for (final String[] str : stringList) {
-					final String id = str[ID_COLUMN];
-					PlayniteGameData playniteData = playniteDataMap.get(id);
-					if (playniteData == null) {
-						playniteData = new PlayniteGameData();
-						playniteData.setGameId(id);
-						playniteDataMap.put(playniteData.getGameId(), playniteData);
-					}
-					playniteData.setName(str[NAME_COLUMN]);
-					playniteData.setPlatform(str[PLATFORM_COLUMN]);
-					mapSource(playniteData, str[SOURCE_COLUMN]);
-					mapCompletionStatus(playniteData, str[COMPLETION_STATUS_COLUMN]);
+		// Built aside then swapped so readers never see a partial map
+		final Map<String, PlayniteGameData> playniteDataMap = new HashMap<>();
+		final RFC4180Parser rfc4180Parser = new RFC4180ParserBuilder().build();
+		try (final FileReader fileReader = new FileReader(path.toFile(), StandardCharsets.UTF_8)) {
+			final CSVReader reader = new CSVReaderBuilder(fileReader).withCSVParser(rfc4180Parser).build();
+			// Read headers
+			reader.readNextSilently();
+			final List<String[]> stringList = reader.readAll();
+			for (final String[] str : stringList) {
+				final String id = str[ID_COLUMN];
+				PlayniteGameData playniteData = playniteDataMap.get(id);
+				if (playniteData == null) {
+					playniteData = new PlayniteGameData();
+					playniteData.setGameId(id);
+					playniteDataMap.put(playniteData.getGameId(), playniteData);
 				}
-				Log.info("Found Playnite data with " + playniteDataMap.size() + " games");
-			} catch (final IOException | CsvException e) {
-				Log.error("Error reading file at " + path);
+				playniteData.setName(str[NAME_COLUMN]);
+				playniteData.setPlatform(str[PLATFORM_COLUMN]);
+				mapSource(playniteData, str[SOURCE_COLUMN]);
+				mapCompletionStatus(playniteData, str[COMPLETION_STATUS_COLUMN]);
 			}
+			model.setPlayniteData(playniteDataMap);
+			Log.info("Found Playnite data with " + playniteDataMap.size() + " games");
+		} catch (final IOException | CsvException e) {
+			Log.error("Error reading file at " + path);
 		}
 	}
 
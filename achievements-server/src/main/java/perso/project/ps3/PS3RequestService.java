@@ -1,14 +1,16 @@
 package perso.project.ps3;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
@@ -25,10 +27,6 @@ import perso.project.standalone.AbstractPSNRequestService;
 
 @ApplicationScoped
 public class PS3RequestService extends AbstractPSNRequestService {
-	static final String TROPHY_SPLIT_1 = "0000000400000050000000";
-	static final String TROPHY_SPLIT_2 = "0000000600000060000000";
-	static final String UNLOCKED_STRING = "00000001";
-	static final int MIN_LENGTH = 58;
 	static final String USER_TROPHY_DATA_NAME = "TROPUSR.DAT";
 	static final String GAME_TROPHY_DATA_NAME = "TROPCONF.SFM";
 	static final String GAME_IMAGE_NAME = "ICON0.PNG";
@@ -84,60 +82,66 @@ public class PS3RequestService extends AbstractPSNRequestService {
 	@Override
 	protected void parseAchievements(final List<GameData> gameData) {
 		readStandaloneGamesByIds();
-		for (final File trophyFolder : ps3EmulatorData.toFile().listFiles()) {
-			final String gameUUID = trophyFolder.getName();
-			// Game data file
-			final Path gameDataFile = getGameDataFile(gameUUID);
-			if (!gameDataFile.toFile().exists()) {
-				Log.error("No game data file for UUID " + gameUUID);
-				continue;
-			}
-			// User data file
-			final Path userDataFile = getUserDataFile(gameUUID);
-			if (!userDataFile.toFile().exists()) {
-				Log.error("No user data file for UUID " + gameUUID);
-				continue;
-			}
+		parseInParallel(List.of(ps3EmulatorData.toFile().listFiles()),
+				trophyFolder -> parseGameAchievements(trophyFolder.getName()));
+	}
 
-			final Optional<GameData> gameDataOpt = readGameDataFile(gameDataFile.toFile(), gameUUID);
-			if (gameDataOpt.isEmpty()) {
-				Log.error("Game not found for UUID " + gameUUID);
-				continue;
-			}
-			readAchievementsFile(gameDataOpt.get(), userDataFile.toFile());
-			parseAchievementData(gameDataOpt.get());
+	private Optional<GameData> parseGameAchievements(final String gameUUID) {
+		final Optional<GameData> gameDataOpt = findGameData(gameUUID);
+		if (gameDataOpt.isEmpty()) {
+			return gameDataOpt;
 		}
+		return parseGameAchievements(gameUUID, gameDataOpt.get());
 	}
 
-	private Optional<GameData> readGameDataFile(final File gameDataFile, final String gameUUID) {
-		final String gameName = model.getStandaloneGamesByIds().get(gameUUID);
-		if (gameName == null) {
-			Log.error("Cannot find PSVita game for UUID " + gameUUID);
+	/**
+	 * @param gameUUID
+	 * @param gameData Game updated with the emulator data of the UUID
+	 * @return Game if its emulator data was read
+	 */
+	private Optional<GameData> parseGameAchievements(final String gameUUID, final GameData gameData) {
+		// Game data file
+		final Path gameDataFile = getGameDataFile(gameUUID);
+		if (!gameDataFile.toFile().exists()) {
+			Log.error("No game data file for UUID " + gameUUID);
+			return Optional.empty();
+		}
+		// User data file
+		final Path userDataFile = getUserDataFile(gameUUID);
+		if (!userDataFile.toFile().exists()) {
+			Log.error("No user data file for UUID " + gameUUID);
 			return Optional.empty();
 		}
 
+		final Lock gameLock = getGameLock(gameData);
+		gameLock.lock();
 		try {
-			final Optional<GameData> gameDataOpt = model.getConsoleDataMap().get(Model.PS3_CONSOLE_ID).getGameDataMap()
-					.values().stream().filter(g -> g.getTitle().equals(gameName)).findFirst();
-			if (gameDataOpt.isEmpty()) {
-				Log.error("Could not find PS3 game " + gameName + " for UUID " + gameUUID);
-				return gameDataOpt;
+			final Optional<List<AchievementData>> achievementsOpt = readGameDataFile(gameDataFile.toFile(), gameData,
+					gameUUID);
+			if (achievementsOpt.isEmpty()) {
+				return Optional.empty();
 			}
-			Log.info("Found PS3 game " + gameName + " for UUID " + gameUUID);
+			final List<AchievementData> achievements = achievementsOpt.get();
+			readAchievementsFile(gameData, achievements, userDataFile.toFile());
+			parseAchievementData(gameData, achievements);
+		} finally {
+			gameLock.unlock();
+		}
+		mergeGameData(gameData);
+		return Optional.of(gameData);
+	}
 
+	private Optional<List<AchievementData>> readGameDataFile(final File gameDataFile, final GameData gameData,
+			final String gameUUID) {
+		try {
 			final JsonNode node = xmlMapper.readTree(gameDataFile);
 			// Link UUID to game found
-			final GameData gameData = gameDataOpt.get();
 			gameData.setUUID(gameUUID);
 
 			// Read achievement descriptions
-			gameData.getAchievementData().clear();
-			final JsonNode trophyNodes = node.get("trophy");
-			trophyNodes.forEach(t -> {
-				gameData.getAchievementData().add(readAchievementDescription(t));
-			});
-
-			return gameDataOpt;
+			final List<AchievementData> achievements = new ArrayList<>();
+			node.get("trophy").forEach(t -> achievements.add(readAchievementDescription(t)));
+			return Optional.of(achievements);
 		} catch (IOException e) {
 			Log.error("Error reading " + gameDataFile.getName(), e);
 			return Optional.empty();
@@ -164,53 +168,30 @@ public class PS3RequestService extends AbstractPSNRequestService {
 		return ach;
 	}
 
-	private GameData readAchievementsFile(final GameData gameData, final File userDataFile) {
-		String hexStr = "";
-		try (final FileInputStream fis = new FileInputStream(userDataFile)) {
-			final byte[] bytes = fis.readAllBytes();
-			for (final byte b : bytes) {
-				hexStr += String.format("%02x", b);
-			}
-			Log.trace("Hex str : " + hexStr);
-			List<String> allSplits = new ArrayList<>();
-
-			final String[] splits1 = hexStr.split(TROPHY_SPLIT_1);
-			for (final String str1 : splits1) {
-				final String[] splits2 = str1.split(TROPHY_SPLIT_2);
-				for (final String str2 : splits2) {
-					allSplits.add(str2);
-				}
-			}
-			Log.trace("Hex str split : " + allSplits);
-
-			for (final String hexData : allSplits) {
-				if (hexData.length() < MIN_LENGTH) {
-					continue;
-				}
-				final int achievementId = Integer.parseInt(hexData.substring(0, 2), 16);
-				Log.trace("Achievement id : " + achievementId);
-				final Optional<AchievementData> achOpt = gameData.getAchievementData().stream()
-						.filter(ach -> ach.getId() == achievementId).findAny();
-				if (achOpt.isEmpty()) {
+	private List<AchievementData> readAchievementsFile(final GameData gameData,
+			final List<AchievementData> achievements, final File userDataFile) {
+		try {
+			final Map<Integer, Boolean> unlockedById = TrophyUserDataReader.read(userDataFile.toPath());
+			final Map<Integer, AchievementData> achievementsById = new HashMap<>();
+			achievements.forEach(ach -> achievementsById.put(ach.getId(), ach));
+			unlockedById.forEach((achievementId, unlocked) -> {
+				final AchievementData ach = achievementsById.get(achievementId);
+				if (ach == null) {
 					Log.error("Game " + gameData.getTitle() + " : Achievement " + achievementId + " not found");
-					continue;
+					return;
 				}
-
-				final String unlockedStr = hexData.substring(18, 26);
-				achOpt.get().setAchieved(UNLOCKED_STRING.equals(unlockedStr));
-				Log.trace("Is unlocked : " + achOpt.get().isAchieved());
-			}
-
+				ach.setAchieved(unlocked);
+				Log.trace("Achievement " + achievementId + " is unlocked : " + unlocked);
+			});
 		} catch (final Exception e) {
 			Log.error("Error reading " + userDataFile.getName(), e);
 		}
-		return gameData;
+		return achievements;
 	}
 
-	private GameData parseAchievementData(final GameData gameData) {
-		gameData.setTotalAchievements(gameData.getAchievementData().size());
-		gameData.setAwardedAchievements(
-				(int) gameData.getAchievementData().stream().filter(ach -> ach.isAchieved()).count());
+	private GameData parseAchievementData(final GameData gameData, final List<AchievementData> achievements) {
+		gameData.setTotalAchievements(achievements.size());
+		gameData.setAwardedAchievements((int) achievements.stream().filter(ach -> ach.isAchieved()).count());
 
 		// Parse completion status
 		parseCompletionStatus(gameData);
@@ -219,8 +200,8 @@ public class PS3RequestService extends AbstractPSNRequestService {
 		setGameAchievementPercent(gameData);
 
 		// Parse total achievement data
-		gameData.setTotalPoints(gameData.getAchievementData().stream().mapToInt(AchievementData::getPoints).sum());
-		gameData.setTruePoints(gameData.getAchievementData().stream().mapToInt(AchievementData::getRealPoints).sum());
+		gameData.setTotalPoints(achievements.stream().mapToInt(AchievementData::getPoints).sum());
+		gameData.setTruePoints(achievements.stream().mapToInt(AchievementData::getRealPoints).sum());
 		if (gameData.getTotalPoints() != 0) {
 			gameData.setRatio((double) gameData.getTruePoints() / gameData.getTotalPoints());
 		} else {
@@ -228,9 +209,9 @@ public class PS3RequestService extends AbstractPSNRequestService {
 		}
 
 		// Parse earned achievement data
-		gameData.setEarnedPoints(gameData.getAchievementData().stream().filter(AchievementData::isAchieved)
+		gameData.setEarnedPoints(achievements.stream().filter(AchievementData::isAchieved)
 				.mapToInt(AchievementData::getPoints).sum());
-		gameData.setEarnedTruePoints(gameData.getAchievementData().stream().filter(AchievementData::isAchieved)
+		gameData.setEarnedTruePoints(achievements.stream().filter(AchievementData::isAchieved)
 				.mapToInt(AchievementData::getRealPoints).sum());
 		if (gameData.getEarnedPoints() != 0) {
 			gameData.setEarnedRatio((double) gameData.getEarnedTruePoints() / gameData.getEarnedPoints());
@@ -238,6 +219,9 @@ public class PS3RequestService extends AbstractPSNRequestService {
 			gameData.setEarnedRatio(1);
 		}
 
+		// Publish the achievements once the game counters match them
+		gameData.setAchievementData(achievements);
+
 		Log.info(gameData.getTitle() + " (" + gameData.getId() + ") for PS3 is " + gameData.getCompletionStatus()
 				+ " with " + gameData.getAwardedAchievements() + " / " + gameData.getTotalAchievements()
 				+ " achievements and " + gameData.getTotalPoints() + " (" + gameData.getTruePoints() + ") points");
@@ -253,10 +237,18 @@ public class PS3RequestService extends AbstractPSNRequestService {
 			return null;
 		}
 
-		parseAchievements(
-				model.getConsoleDataMap().get(Model.PS3_CONSOLE_ID).getGameDataMap().values().stream().toList());
+		// Only parse the trophy folder of the game
+		final Optional<String> gameUUID = getGameUUID(existingGameData,
+				uuid -> getUserDataFile(uuid).toFile().exists());
+		if (gameUUID.isEmpty()) {
+			Log.error("No UUID found for PS3 game " + existingGameData.getTitle());
+			return existingGameData;
+		}
+		parseGameAchievements(gameUUID.get(), existingGameData);
 		// Set local images as base64
 		parseImages(existingGameData);
+		// Images are set after the achievements were merged
+		mergeGameData(existingGameData);
 
 		return existingGameData;
 	}
@@ -277,8 +269,10 @@ public class PS3RequestService extends AbstractPSNRequestService {
 			try {
 				final byte[] iconBytes = Files.readAllBytes(getTrophyIconPath(gameData.getUUID(), ach.getId()));
 				final String iconBase64 = Base64.getEncoder().encodeToString(iconBytes);
-				ach.setIconLockedURL(BASE64_PREFIX + iconBase64);
-				ach.setIconUnlockedURL(BASE64_PREFIX + iconBase64);
+				// Same icon for both states, kept once
+				final String icon = BASE64_PREFIX + iconBase64;
+				ach.setIconLockedURL(icon);
+				ach.setIconUnlockedURL(icon);
 			} catch (IOException e) {
 				Log.error("Cannot convert game image to Base64 for game " + gameData.getTitle());
 			}
@@ -0,0 +1,74 @@
+package perso.project.ps3;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads unlocked states from a RPCS3 TROPUSR.DAT file. Trophy records follow
+ * one of the record headers, with the trophy id as first byte and the unlocked
+ * flag as int at offset 9. Stateless, can be used from any thread
+ */
+public final class TrophyUserDataReader {
+	static final byte[] RECORD_HEADER_1 = { 0, 0, 0, 4, 0, 0, 0, 0x50, 0, 0, 0 };
+	static final byte[] RECORD_HEADER_2 = { 0, 0, 0, 6, 0, 0, 0, 0x60, 0, 0, 0 };
+	static final int UNLOCKED_OFFSET = 9;
+	static final int UNLOCKED = 1;
+	static final int MIN_RECORD_LENGTH = 29;
+
+	private TrophyUserDataReader() {
+	}
+
+	/**
+	 * @param userDataFile
+	 * @return Unlocked state by trophy id
+	 * @throws IOException
+	 */
+	public static Map<Integer, Boolean> read(final Path userDataFile) throws IOException {
+		// Not mapped, the emulator must be able to replace the file while running
+		return read(ByteBuffer.wrap(Files.readAllBytes(userDataFile)));
+	}
+
+	/**
+	 * @param buffer File content, position and limit are not changed
+	 * @return Unlocked state by trophy id
+	 */
+	public static Map<Integer, Boolean> read(final ByteBuffer buffer) {
+		final Map<Integer, Boolean> unlockedById = new HashMap<>();
+		int recordStart = -1;
+		int i = buffer.position();
+		while (i <= buffer.limit() - RECORD_HEADER_1.length) {
+			if (matches(buffer, i, RECORD_HEADER_1) || matches(buffer, i, RECORD_HEADER_2)) {
+				readRecord(buffer, recordStart, i, unlockedById);
+				i += RECORD_HEADER_1.length;
+				recordStart = i;
+			} else {
+				i++;
+			}
+		}
+		readRecord(buffer, recordStart, buffer.limit(), unlockedById);
+		return unlockedById;
+	}
+
+	private static void readRecord(final ByteBuffer buffer, final int start, final int end,
+			final Map<Integer, Boolean> unlockedById) {
+		// Data before the first record header is not a trophy
+		if (start < 0 || end - start < MIN_RECORD_LENGTH) {
+			return;
+		}
+		final int achievementId = Byte.toUnsignedInt(buffer.get(start));
+		unlockedById.put(achievementId, buffer.getInt(start + UNLOCKED_OFFSET) == UNLOCKED);
+	}
+
+	private static boolean matches(final ByteBuffer buffer, final int index, final byte[] header) {
+		for (int j = 0; j < header.length; j++) {
+			if (buffer.get(index + j) != header[j]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
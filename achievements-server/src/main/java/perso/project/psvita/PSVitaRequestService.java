@@ -1,13 +1,15 @@
 package perso.project.psvita;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
@@ -21,7 +23,6 @@ import perso.project.model.GameData;
 import perso.project.model.Model;
 import perso.project.model.enums.ConsoleSourceEnum;
 import perso.project.standalone.AbstractPSNRequestService;
-import perso.project.utils.GenericUtils;
 
 @ApplicationScoped
 public class PSVitaRequestService extends AbstractPSNRequestService {
@@ -80,29 +81,8 @@ public class PSVitaRequestService extends AbstractPSNRequestService {
 	@Override
 	protected void parseAchievements(final List<GameData> gameData) {
 		readStandaloneGamesByIds();
-		for (final File appFolder : psVitaEmulatorGameData.toFile().listFiles()) {
-			final String gameUUID = appFolder.getName();
-			// Game data file
-			final Path gameDataFile = getGameDataFile(gameUUID);
-			if (!gameDataFile.toFile().exists()) {
-				Log.error("No game data file for UUID " + gameUUID);
-				continue;
-			}
-
-			// User data file
-			final Path userDataFile = getUserDataFile(gameUUID);
-			if (!userDataFile.toFile().exists()) {
-				Log.error("No user data file for UUID2 " + gameUUID);
-				continue;
-			}
-
-			final Optional<GameData> gameDataOpt = readGameDataFile(gameDataFile.toFile(), gameUUID);
-			if (gameDataOpt.isEmpty()) {
-				continue;
-			}
-			readAchievementsFile(gameDataOpt.get(), userDataFile.toFile());
-			parseAchievementData(gameDataOpt.get());
-		}
+		parseInParallel(List.of(psVitaEmulatorGameData.toFile().listFiles()),
+				appFolder -> parseGameAchievements(appFolder.getName()));
 	}
 
 	public GameData getFullGameData(final int gameId) {
@@ -114,59 +94,78 @@ public class PSVitaRequestService extends AbstractPSNRequestService {
 			return null;
 		}
 
-		final String gameUUID = existingGameData.getUUID();
+		// Only parse the trophy folder of the game
+		final Optional<String> gameUUID = getGameUUID(existingGameData,
+				uuid -> getUserDataFile(uuid).toFile().exists());
+		if (gameUUID.isEmpty()) {
+			Log.error("No UUID found for PSVita game " + existingGameData.getTitle());
+			return existingGameData;
+		}
+		parseGameAchievements(gameUUID.get(), existingGameData);
+		parseImages(existingGameData);
+		// Images are set after the achievements were merged
+		mergeGameData(existingGameData);
 
+		return existingGameData;
+	}
+
+	private Optional<GameData> parseGameAchievements(final String gameUUID) {
+		final Optional<GameData> gameDataOpt = findGameData(gameUUID);
+		if (gameDataOpt.isEmpty()) {
+			return gameDataOpt;
+		}
+		return parseGameAchievements(gameUUID, gameDataOpt.get());
+	}
+
+	/**
+	 * @param gameUUID
+	 * @param gameData Game updated with the emulator data of the UUID
+	 * @return Game if its emulator data was read
+	 */
+	private Optional<GameData> parseGameAchievements(final String gameUUID, final GameData gameData) {
 		// Game data file
 		final Path gameDataFile = getGameDataFile(gameUUID);
 		if (!gameDataFile.toFile().exists()) {
 			Log.error("No game data file for UUID " + gameUUID);
-			return existingGameData;
+			return Optional.empty();
 		}
 
 		// User data file
 		final Path userDataFile = getUserDataFile(gameUUID);
 		if (!userDataFile.toFile().exists()) {
 			Log.error("No user data file for UUID2 " + gameUUID);
-			return existingGameData;
-		}
-
-		readGameDataFile(gameDataFile.toFile(), existingGameData.getUUID());
-		readAchievementsFile(existingGameData, userDataFile.toFile());
-		parseAchievementData(existingGameData);
-		parseImages(existingGameData);
-
-		return existingGameData;
-	}
-
-	private Optional<GameData> readGameDataFile(final File gameDataFile, final String gameUUID) {
-		final String gameName = model.getStandaloneGamesByIds().get(gameUUID);
-		if (gameName == null) {
-			Log.error("Cannot find PSVita game for UUID " + gameUUID);
 			return Optional.empty();
 		}
 
+		final Lock gameLock = getGameLock(gameData);
+		gameLock.lock();
 		try {
-			final Optional<GameData> gameDataOpt = model.getConsoleDataMap().get(Model.PSVITA_CONSOLE_ID)
-					.getGameDataMap().values().stream().filter(g -> g.getTitle().equals(gameName)).findFirst();
-			if (gameDataOpt.isEmpty()) {
-				Log.error("Could not find PSVita game " + gameName + " for UUID " + gameUUID);
-				return gameDataOpt;
+			final Optional<List<AchievementData>> achievementsOpt = readGameDataFile(gameDataFile.toFile(), gameData,
+					gameUUID);
+			if (achievementsOpt.isEmpty()) {
+				return Optional.empty();
 			}
-			Log.info("Found PSVita game " + gameName + " for UUID " + gameUUID);
+			final List<AchievementData> achievements = achievementsOpt.get();
+			readAchievementsFile(achievements, userDataFile.toFile());
+			parseAchievementData(gameData, achievements);
+		} finally {
+			gameLock.unlock();
+		}
+		mergeGameData(gameData);
+		return Optional.of(gameData);
+	}
 
+	private Optional<List<AchievementData>> readGameDataFile(final File gameDataFile, final GameData gameData,
+			final String gameUUID) {
+		try {
 			final JsonNode node = xmlMapper.readTree(gameDataFile);
 			// Link UUID to game found
-			final GameData gameData = gameDataOpt.get();
 			gameData.setUUID(gameUUID);
 
 			// Read achievement descriptions
-			gameData.getAchievementData().clear();
-			final JsonNode trophyNodes = node.get("trophy");
-			trophyNodes.forEach(t -> {
-				gameData.getAchievementData().add(readAchievementDescription(t));
-			});
-
-			return gameDataOpt;
+			final List<AchievementData> achievements = new ArrayList<>();
+			node.get("trophy").forEach(t -> achievements.add(readAchievementDescription(t)));
+			return Optional.of(achievements);
 		} catch (IOException e) {
 			Log.error("Error reading " + gameDataFile.getName(), e);
 			return Optional.empty();
@@ -193,44 +192,23 @@ public class PSVitaRequestService extends AbstractPSNRequestService {
 		return ach;
 	}
 
-	private GameData readAchievementsFile(final GameData gameData, final File userDataFile) {
-		String hexStr = "";
-		try (final FileInputStream fis = new FileInputStream(userDataFile)) {
-			final byte[] bytes = fis.readAllBytes();
-			for (final byte b : bytes) {
-				hexStr += String.format("%02x", b);
-			}
-			// Parse file
-			// Find string with format 0e000000000000000000000
-			// Each trophy is a 1 in binary
-			// Always read by groups of 2 bytes to then reverse the groups of 8 binary
-			// values
-			final int bytesToRead = (int) (2 * Math.ceil(gameData.getAchievementData().size() / 8d));
-			final String trophyProgressString = hexStr.substring(8, 8 + bytesToRead);
-			final String binaryProgressString = GenericUtils.hexToBin(trophyProgressString);
-			String reversedProgressString = "";
-			for (int i = 0; i < bytesToRead / 2; i++) {
-				final String substringI = binaryProgressString.substring(8 * i, 8 * (i + 1));
-				reversedProgressString += new StringBuffer(substringI).reverse();
-			}
-			// reversedProgressString contains a list of binary values ordered by ids of
-			// achievements
-			// 1 is unlocked, 0 is locked
-			for (final AchievementData ach : gameData.getAchievementData()) {
-				final boolean isEarned = reversedProgressString.substring(ach.getId(), ach.getId() + 1).equals("1");
-				ach.setAchieved(isEarned);
+	private List<AchievementData> readAchievementsFile(final List<AchievementData> achievements,
+			final File userDataFile) {
+		try {
+			// Each trophy is a bit of the unlocked bitmap, indexed by trophy id
+			final BitSet unlocked = TrophyProgressReader.read(userDataFile.toPath(), achievements.size());
+			for (final AchievementData ach : achievements) {
+				ach.setAchieved(ach.getId() >= 0 && unlocked.get(ach.getId()));
 			}
-
 		} catch (final Exception e) {
 			Log.error("Error reading " + userDataFile.getName(), e);
 		}
-		return gameData;
+		return achievements;
 	}
 
-	private GameData parseAchievementData(final GameData gameData) {
-		gameData.setTotalAchievements(gameData.getAchievementData().size());
-		gameData.setAwardedAchievements(
-				(int) gameData.getAchievementData().stream().filter(ach -> ach.isAchieved()).count());
+	private GameData parseAchievementData(final GameData gameData, final List<AchievementData> achievements) {
+		gameData.setTotalAchievements(achievements.size());
+		gameData.setAwardedAchievements((int) achievements.stream().filter(ach -> ach.isAchieved()).count());
 
 		// Parse completion status
 		parseCompletionStatus(gameData);
@@ -239,8 +217,8 @@ public class PSVitaRequestService extends AbstractPSNRequestService {
 		setGameAchievementPercent(gameData);
 
 		// Parse total achievement data
-		gameData.setTotalPoints(gameData.getAchievementData().stream().mapToInt(AchievementData::getPoints).sum());
-		gameData.setTruePoints(gameData.getAchievementData().stream().mapToInt(AchievementData::getRealPoints).sum());
+		gameData.setTotalPoints(achievements.stream().mapToInt(AchievementData::getPoints).sum());
+		gameData.setTruePoints(achievements.stream().mapToInt(AchievementData::getRealPoints).sum());
 		if (gameData.getTotalPoints() != 0) {
 			gameData.setRatio((double) gameData.getTruePoints() / gameData.getTotalPoints());
 		} else {
@@ -248,9 +226,9 @@ public class PSVitaRequestService extends AbstractPSNRequestService {
 		}
 
 		// Parse earned achievement data
-		gameData.setEarnedPoints(gameData.getAchievementData().stream().filter(AchievementData::isAchieved)
+		gameData.setEarnedPoints(achievements.stream().filter(AchievementData::isAchieved)
 				.mapToInt(AchievementData::getPoints).sum());
-		gameData.setEarnedTruePoints(gameData.getAchievementData().stream().filter(AchievementData::isAchieved)
+		gameData.setEarnedTruePoints(achievements.stream().filter(AchievementData::isAchieved)
 				.mapToInt(AchievementData::getRealPoints).sum());
 		if (gameData.getEarnedPoints() != 0) {
 			gameData.setEarnedRatio((double) gameData.getEarnedTruePoints() / gameData.getEarnedPoints());
@@ -258,6 +236,9 @@ public class PSVitaRequestService extends AbstractPSNRequestService {
 			gameData.setEarnedRatio(1);
 		}
 
+		// Publish the achievements once the game counters match them
+		gameData.setAchievementData(achievements);
+
 		Log.info(gameData.getTitle() + " (" + gameData.getId() + ") for PSVita is " + gameData.getCompletionStatus()
 				+ " with " + gameData.getAwardedAchievements() + " / " + gameData.getTotalAchievements()
 				+ " achievements and " + gameData.getTotalPoints() + " (" + gameData.getTruePoints() + ") points");
@@ -280,8 +261,10 @@ public class PSVitaRequestService extends AbstractPSNRequestService {
 			try {
 				final byte[] iconBytes = Files.readAllBytes(getTrophyIconPath(gameData.getUUID(), ach.getId()));
 				final String iconBase64 = Base64.getEncoder().encodeToString(iconBytes);
-				ach.setIconLockedURL(BASE64_PREFIX + iconBase64);
-				ach.setIconUnlockedURL(BASE64_PREFIX + iconBase64);
+				// Same icon for both states, kept once
+				final String icon = BASE64_PREFIX + iconBase64;
+				ach.setIconLockedURL(icon);
+				ach.setIconUnlockedURL(icon);
 			} catch (IOException e) {
 				Log.error("Cannot convert game image to Base64 for game " + gameData.getTitle());
 			}
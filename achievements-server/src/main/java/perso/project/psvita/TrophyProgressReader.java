@@ -0,0 +1,58 @@
+package perso.project.psvita;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Reads the unlocked trophy bitmap of a Vita3K TROPUSR.DAT file. The bitmap
+ * starts at offset 4 with one bit per trophy id, lowest bit first in each byte.
+ * Stateless, can be used from any thread
+ */
+public final class TrophyProgressReader {
+	static final int BITMAP_OFFSET = 4;
+
+	private TrophyProgressReader() {
+	}
+
+	/**
+	 * Only the bitmap bytes are read from the file
+	 *
+	 * @param userDataFile
+	 * @param trophyCount
+	 * @return Unlocked trophy ids
+	 * @throws IOException
+	 */
+	public static BitSet read(final Path userDataFile, final int trophyCount) throws IOException {
+		final ByteBuffer bitmap = ByteBuffer.allocate(getBitmapLength(trophyCount));
+		try (final FileChannel channel = FileChannel.open(userDataFile, StandardOpenOption.READ)) {
+			while (bitmap.hasRemaining()) {
+				if (channel.read(bitmap, BITMAP_OFFSET + bitmap.position()) < 0) {
+					throw new IOException("Trophy bitmap exceeds file size of " + userDataFile);
+				}
+			}
+		}
+		return BitSet.valueOf(bitmap.flip());
+	}
+
+	/**
+	 * @param content     File content, position and limit are not changed
+	 * @param trophyCount
+	 * @return Unlocked trophy ids
+	 * @throws IOException
+	 */
+	public static BitSet read(final ByteBuffer content, final int trophyCount) throws IOException {
+		final int bitmapLength = getBitmapLength(trophyCount);
+		if (content.limit() < BITMAP_OFFSET + bitmapLength) {
+			throw new IOException("Trophy bitmap exceeds content size");
+		}
+		return BitSet.valueOf(content.slice(BITMAP_OFFSET, bitmapLength));
+	}
+
+	private static int getBitmapLength(final int trophyCount) {
+		return (trophyCount + Byte.SIZE - 1) / Byte.SIZE;
+	}
+}
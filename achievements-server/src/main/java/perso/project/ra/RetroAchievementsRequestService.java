@@ -4,10 +4,13 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
@@ -17,6 +20,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import perso.project.model.AchievementData;
@@ -25,7 +31,6 @@ import perso.project.model.GameData;
 import perso.project.model.enums.CompletionStatusEnum;
 import perso.project.model.enums.ConsoleSourceEnum;
 import perso.project.utils.AbstractRequestService;
-import perso.project.utils.SleepUtils;
 
 @ApplicationScoped
 public class RetroAchievementsRequestService extends AbstractRequestService {
@@ -42,6 +47,11 @@ public class RetroAchievementsRequestService extends AbstractRequestService {
 	static final String MASTERY_COMPLETION_STRING = "mastered";
 	static final String GAME_BEATEN_STRING = "beaten-hardcore";
 
+	// Max page size accepted by GetUserCompletionProgress
+	static final int COMPLETION_PROGRESS_PAGE_SIZE = 500;
+	static final TypeReference<List<GameData>> GAME_LIST_TYPE = new TypeReference<List<GameData>>() {
+	};
+
 	static final String BADGE_URL = MEDIA_URL + "/Badge/";
 	static final String BADGE_LOCKED = "_lock.png";
 	static final String BADGE_UNLOCKED = ".png";
@@ -52,6 +62,27 @@ public class RetroAchievementsRequestService extends AbstractRequestService {
 	@ConfigProperty(name = "ra.username")
 	String raUsername;
 
+	@Inject
+	@ConfigProperty(name = "ra.rate.limit.per.second")
+	double raRateLimit;
+
+	@Inject
+	@ConfigProperty(name = "ra.rate.limit.burst")
+	int raRateLimitBurst;
+
+	@Inject
+	@ConfigProperty(name = "ra.cache.game.list.ttl")
+	Duration raGameListCacheTtl;
+
+	@Inject
+	@ConfigProperty(name = "ra.prefetch.concurrency")
+	int raPrefetchConcurrency;
+
+	@PostConstruct
+	void setupRateLimits() {
+		rateLimitService.register(URI.create(MAIN_URI).getHost(), raRateLimit, raRateLimitBurst);
+	}
+
 	/**
 	 * Creates <b>blocking</b> HTTP request
 	 * 
@@ -60,6 +91,54 @@ public class RetroAchievementsRequestService extends AbstractRequestService {
 	 * @return
 	 */
 	HttpResponse<String> requestData(final String method, final String... params) {
+		return requestData(Duration.ZERO, method, params);
+	}
+
+	/**
+	 * Creates <b>blocking</b> HTTP request, using the response cache
+	 * 
+	 * @param cacheTtl
+	 * @param method
+	 * @param params
+	 * @return
+	 */
+	HttpResponse<String> requestData(final Duration cacheTtl, final String method, final String... params) {
+		final URI uri = createURI(method, params);
+		if (uri == null) {
+			return null;
+		}
+		return requestHttpURI(uri, cacheTtl);
+	}
+
+	/**
+	 * Creates <b>non blocking</b> HTTP request
+	 * 
+	 * @param method
+	 * @param params
+	 * @return
+	 */
+	CompletableFuture<HttpResponse<String>> requestDataAsync(final String method, final String... params) {
+		return requestDataAsync(Duration.ZERO, method, params);
+	}
+
+	/**
+	 * Creates <b>non blocking</b> HTTP request, using the response cache
+	 * 
+	 * @param cacheTtl
+	 * @param method
+	 * @param params
+	 * @return
+	 */
+	CompletableFuture<HttpResponse<String>> requestDataAsync(final Duration cacheTtl, final String method,
+			final String... params) {
+		final URI uri = createURI(method, params);
+		if (uri == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return requestHttpURIAsync(uri, cacheTtl);
+	}
+
+	private URI createURI(final String method, final String... params) {
 		final String raApiKey = System.getenv(RA_API_KEY_KEY);
 		if (raApiKey == null) {
 			Log.error("RA API Key not defined as environment variable");
@@ -72,8 +151,7 @@ public class RetroAchievementsRequestService extends AbstractRequestService {
 			for (final String param : params) {
 				uriString.append("&").append(param);
 			}
-			final URI uri = new URI(uriString.toString());
-			return requestHttpURI(uri);
+			return new URI(uriString.toString());
 		} catch (final URISyntaxException e) {
 			Log.error("Error creating URI", e);
 			return null;
@@ -93,23 +171,23 @@ public class RetroAchievementsRequestService extends AbstractRequestService {
 				data.setSource(ConsoleSourceEnum.RETRO_ACHIEVEMENTS);
 				Log.debug("Setting console data for " + data.getName() + " (" + data.getId() + ")");
 
-				if (!model.getConsoleDataMap().containsKey(data.getId())) {
-					model.getConsoleDataMap().put(data.getId(), data);
-				}
+				model.putConsoleData(data);
 			});
 			Log.info("Console data map is size " + model.getConsoleDataMap().size());
 			return consoleData;
 		} catch (IOException e) {
 			Log.error("Error reading response body as ConsoleData", e);
-			return null;
+			throw new IllegalStateException("Cannot read console data", e);
 		}
 	}
 
-	public List<GameData> getUserCompletionProgress() {
+	/**
+	 * @return All games with user progress
+	 * @throws IllegalStateException If any page cannot be read
+	 */
+	public List<GameData> getUserCompletionProgress() throws IllegalStateException {
 		Log.info("Getting user completion progress");
-		final List<GameData> gameData = new ArrayList<>();
-		// Request takes at most 500 games at once. We loop to get all of them
-		requestCompletionProgressLoop(0, gameData);
+		final List<GameData> gameData = requestCompletionProgress();
 
 		Log.info("Found " + gameData.size() + " played games");
 		gameData.forEach(data -> {
@@ -120,62 +198,76 @@ public class RetroAchievementsRequestService extends AbstractRequestService {
 			}
 			parseUserCompletionData(data);
 			if (!consoleData.getGameDataMap().containsKey(data.getId())) {
-				consoleData.getGameDataMap().put(data.getId(), data);
+				model.putGameData(consoleData, data);
 			}
 		});
 		return gameData;
 	}
 
-	private List<GameData> requestCompletionProgressLoop(final int currentCount, final List<GameData> data) {
+	/**
+	 * First page gives the total count, remaining pages are requested concurrently
+	 * within the RA rate limit and merged back in order. Fails if any page fails,
+	 * so that a partial result never overwrites existing progress
+	 * 
+	 * @return All games with user progress
+	 * @throws IllegalStateException
+	 */
+	private List<GameData> requestCompletionProgress() throws IllegalStateException {
+		final List<GameData> data = new ArrayList<>();
+		final JsonNode firstPage = joinCompletionProgressPage(requestCompletionProgressPage(0));
+		final int totalCount = firstPage.path("Total").asInt();
+		data.addAll(readCompletionProgressResults(firstPage));
+
+		final List<CompletableFuture<JsonNode>> pages = new ArrayList<>();
+		for (int offset = COMPLETION_PROGRESS_PAGE_SIZE; offset < totalCount; offset += COMPLETION_PROGRESS_PAGE_SIZE) {
+			pages.add(requestCompletionProgressPage(offset));
+		}
+		if (!pages.isEmpty()) {
+			Log.info("Reading " + totalCount + " games in " + (pages.size() + 1) + " pages");
+		}
+		for (final CompletableFuture<JsonNode> page : pages) {
+			data.addAll(readCompletionProgressResults(joinCompletionProgressPage(page)));
+		}
+		return data;
+	}
+
+	private CompletableFuture<JsonNode> requestCompletionProgressPage(final int offset) {
+		return requestDataAsync(USER_COMPLETION_PROGRESS_METHOD, "c=" + COMPLETION_PROGRESS_PAGE_SIZE, "o=" + offset)
+				.thenApply(response -> {
+					try {
+						return mapper.readTree(parseResponse(response));
+					} catch (final JsonProcessingException e) {
+						throw new IllegalStateException("Error reading completion progress at offset " + offset, e);
+					}
+				});
+	}
+
+	private JsonNode joinCompletionProgressPage(final CompletableFuture<JsonNode> page) throws IllegalStateException {
 		try {
-			final String resBody = parseResponse(requestData(USER_COMPLETION_PROGRESS_METHOD, "o=" + currentCount));
-			final JsonNode node = mapper.readTree(resBody);
-			final int newCount = node.get("Count").asInt();
-			final int totalCount = node.get("Total").asInt();
-			final String gameDataBody = node.get("Results").toString();
-			final List<GameData> gameData = mapper.readValue(gameDataBody, new TypeReference<List<GameData>>() {
-			});
-			data.addAll(gameData);
-			if (currentCount < totalCount) {
-				// Sleep to avoid too many requests
-				SleepUtils.sleep(500);
-				Log.info("Reading " + (newCount + currentCount) + " / " + totalCount);
-				requestCompletionProgressLoop(newCount + currentCount, data);
-			}
-		} catch (JsonProcessingException e) {
+			return page.join();
+		} catch (final CompletionException e) {
+			Log.error("Error requesting completion progress", e.getCause());
+			throw new IllegalStateException("Completion progress is incomplete", e.getCause());
+		}
+	}
+
+	private List<GameData> readCompletionProgressResults(final JsonNode page) throws IllegalStateException {
+		try {
+			return mapper.treeToValue(page.get("Results"), GAME_LIST_TYPE);
+		} catch (JsonProcessingException | IllegalArgumentException e) {
 			Log.error("Error reading response body as GameData", e);
-			return null;
+			throw new IllegalStateException("Completion progress is incomplete", e);
 		}
-		return data;
 	}
 
 	public List<GameData> getConsoleGames(final int consoleId) {
 		Log.info("Getting console games for console id " + consoleId);
 		try {
 			final String resBody = parseResponse(
-					requestData(CONSOLE_GAMES_METHOD, "i=" + Integer.toString(consoleId), "f=1"));
-			final List<GameData> gameData = mapper.readValue(resBody, new TypeReference<List<GameData>>() {
-			});
+					requestData(raGameListCacheTtl, CONSOLE_GAMES_METHOD, "i=" + Integer.toString(consoleId), "f=1"));
+			final List<GameData> gameData = mapper.readValue(resBody, GAME_LIST_TYPE);
 			Log.info("Found " + gameData.size() + " games for console " + consoleId);
-			// Add game data to console data
-			gameData.forEach(data -> {
-				final ConsoleData consoleData = model.getConsoleDataMap().get(data.getConsoleId());
-				if (consoleData == null) {
-					Log.error("Console data not found for " + data.getConsoleName() + " (" + data.getConsoleId() + ")");
-					return;
-				}
-				GameData existingGameData;
-				if (!consoleData.getGameDataMap().containsKey(data.getId())) {
-					existingGameData = data;
-					existingGameData.setPercent(0d);
-					existingGameData.setCompletionStatus(CompletionStatusEnum.NOT_PLAYED);
-					consoleData.getGameDataMap().put(data.getId(), existingGameData);
-				} else {
-					existingGameData = consoleData.getGameDataMap().get(data.getId());
-					existingGameData.setTotalPoints(data.getTotalPoints());
-				}
-				existingGameData.setTruePoints(existingGameData.getTotalPoints());
-			});
+			mergeConsoleGames(gameData);
 			return gameData;
 		} catch (JsonProcessingException e) {
 			Log.error("Error reading response body as GameData", e);
@@ -183,18 +275,119 @@ public class RetroAchievementsRequestService extends AbstractRequestService {
 		}
 	}
 
+	/**
+	 * Requests game lists of every active console with bounded parallelism. Each
+	 * list is served from the on disk response cache while it is fresh
+	 * 
+	 * @return Games of all active consoles
+	 */
+	public List<GameData> prefetchAllConsoleGames() {
+		final List<ConsoleData> consoles = getActiveConsoles();
+		Log.info("Prefetching game lists for " + consoles.size() + " consoles");
+		final List<List<GameData>> gameLists = Multi.createFrom().iterable(consoles).onItem()
+				.transformToUni(console -> Uni.createFrom().completionStage(requestConsoleGamesAsync(console.getId())))
+				.merge(raPrefetchConcurrency).collect().asList().await().indefinitely();
+
+		final List<GameData> gameData = new ArrayList<>();
+		gameLists.forEach(gameData::addAll);
+		mergeConsoleGames(gameData);
+		Log.info("Prefetched " + gameData.size() + " games for " + consoles.size() + " consoles");
+		return gameData;
+	}
+
+	/**
+	 * Console list is only requested when the model does not hold it yet
+	 * 
+	 * @return Active RetroAchievements consoles
+	 */
+	private List<ConsoleData> getActiveConsoles() {
+		final List<ConsoleData> consoles = model.getConsoleDataMap().values().stream()
+				.filter(console -> console.getSource() == ConsoleSourceEnum.RETRO_ACHIEVEMENTS
+						&& !console.isPlaceholder() && console.isActive() && console.isGameSystem())
+				.toList();
+		if (consoles.isEmpty()) {
+			return getConsoleIds();
+		}
+		return consoles;
+	}
+
+	private CompletableFuture<List<GameData>> requestConsoleGamesAsync(final int consoleId) {
+		return requestDataAsync(raGameListCacheTtl, CONSOLE_GAMES_METHOD, "i=" + Integer.toString(consoleId), "f=1")
+				.handle((response, e) -> {
+					if (e != null) {
+						Log.error("Error requesting games for console " + consoleId, e);
+						return List.of();
+					}
+					try {
+						final List<GameData> gameData = mapper.readValue(parseResponse(response), GAME_LIST_TYPE);
+						Log.debug("Found " + gameData.size() + " games for console " + consoleId);
+						return gameData;
+					} catch (JsonProcessingException | IllegalStateException ex) {
+						Log.error("Error reading games for console " + consoleId, ex);
+						return List.of();
+					}
+				});
+	}
+
+	/**
+	 * Adds game list to console data, only updating points of already known games
+	 * 
+	 * @param gameData
+	 */
+	private void mergeConsoleGames(final List<GameData> gameData) {
+		gameData.forEach(data -> {
+			final ConsoleData consoleData = model.getConsoleDataMap().get(data.getConsoleId());
+			if (consoleData == null) {
+				Log.error("Console data not found for " + data.getConsoleName() + " (" + data.getConsoleId() + ")");
+				return;
+			}
+			GameData existingGameData;
+			if (!consoleData.getGameDataMap().containsKey(data.getId())) {
+				existingGameData = data;
+				existingGameData.setPercent(0d);
+				existingGameData.setCompletionStatus(CompletionStatusEnum.NOT_PLAYED);
+			} else {
+				existingGameData = consoleData.getGameDataMap().get(data.getId());
+				existingGameData.setTotalPoints(data.getTotalPoints());
+			}
+			existingGameData.setTruePoints(existingGameData.getTotalPoints());
+			// Put back existing games too, so that the points update is persisted
+			model.putGameData(consoleData, existingGameData);
+		});
+	}
+
 	public GameData getFullGameData(final int gameId) {
-		final Optional<GameData> existingGameDataOpt = getRAGameById(gameId);
+		return getFullGameDataAsync(gameId).join();
+	}
+
+	/**
+	 * Concurrent calls for the same game share the same request
+	 * 
+	 * @param gameId
+	 * @return
+	 */
+	public CompletableFuture<GameData> getFullGameDataAsync(final int gameId) {
+		return requestGameDataOnce(ConsoleSourceEnum.RETRO_ACHIEVEMENTS, gameId, GAME_INFO_PROGRESS_METHOD,
+				() -> requestFullGameData(gameId));
+	}
+
+	private CompletableFuture<GameData> requestFullGameData(final int gameId) {
+		final Optional<GameData> existingGameDataOpt = model.getGameData(ConsoleSourceEnum.RETRO_ACHIEVEMENTS, gameId);
 		if (existingGameDataOpt.isEmpty()) {
 			Log.error("No RA game found for id " + gameId);
-			return null;
+			return CompletableFuture.completedFuture(null);
 		}
 		Log.info("Getting full game data for RA game " + gameId);
 		final GameData existingGameData = existingGameDataOpt.get();
 
+		return requestDataAsync(GAME_INFO_PROGRESS_METHOD, "g=" + gameId, "a=1")
+				.thenApply(response -> parseFullGameData(existingGameData, response));
+	}
+
+	private GameData parseFullGameData(final GameData existingGameData, final HttpResponse<String> response) {
 		try {
 			// Game schema
-			final String schemaResBody = parseResponse(requestData(GAME_INFO_PROGRESS_METHOD, "g=" + gameId, "a=1"));
+			final String schemaResBody = parseResponse(response);
 			final JsonNode node = mapper.readTree(schemaResBody);
 			// Award kind
 			final String awardKind = node.get("HighestAwardKind").asText();
@@ -207,12 +400,13 @@ public class RetroAchievementsRequestService extends AbstractRequestService {
 			existingGameData.setImageURL(BOXART_URL + imageBoxArt);
 			// Achievements
 			final JsonNode achievementsNode = node.get("Achievements");
-			final String dataBody = achievementsNode.toString();
-			final Map<Integer, AchievementData> achievementData = mapper.readValue(dataBody,
+			final Map<Integer, AchievementData> achievementData = mapper.treeToValue(achievementsNode,
 					new TypeReference<Map<Integer, AchievementData>>() {
 					});
+			// Published once complete, the current list may be released meanwhile
+			final List<AchievementData> achievements = new ArrayList<>(existingGameData.getAchievementData());
 			achievementData.values().forEach(ach -> {
-				final Optional<AchievementData> existingAchievement = existingGameData.getAchievementData().stream()
+				final Optional<AchievementData> existingAchievement = achievements.stream()
 						.filter(existingAch -> existingAch.getId() == ach.getId()).findFirst();
 				AchievementData achievement;
 				if (existingAchievement.isEmpty()) {
@@ -227,10 +421,11 @@ public class RetroAchievementsRequestService extends AbstractRequestService {
 				achievement.setIconLockedURL(BADGE_URL + ach.getBadgeId() + BADGE_LOCKED);
 				achievement.setAchieved(!ach.getDateEarned().isBlank());
 				if (existingAchievement.isEmpty()) {
-					existingGameData.getAchievementData().add(achievement);
+					achievements.add(achievement);
 				}
-				achievement.setDisplayOrder(existingGameData.getAchievementData().indexOf(achievement));
+				achievement.setDisplayOrder(achievements.indexOf(achievement));
 			});
+			existingGameData.setAchievementData(achievements);
 			// Game data
 			parseFullAchievementData(existingGameData);
 			return existingGameData;
@@ -304,20 +499,6 @@ public class RetroAchievementsRequestService extends AbstractRequestService {
 		return gameData;
 	}
 
-	private Optional<GameData> getRAGameById(final int gameId) {
-		for (final ConsoleData console : model.getConsoleDataMap().values()) {
-			if (!ConsoleSourceEnum.RETRO_ACHIEVEMENTS.equals(console.getSource())) {
-				continue;
-			}
-			for (final GameData game : console.getGameDataMap().values()) {
-				if (game.getId() == gameId) {
-					return Optional.of(game);
-				}
-			}
-		}
-		return Optional.empty();
-	}
-
 	@Override
 	public ObjectMapper getMapper() {
 		return mapper;
@@ -59,6 +59,15 @@ public class RetroAchievementsResources extends AbstractResources {
 				.writeValueAsString(model.getConsoleDataMap().get(consoleId).getGameDataMap().values());
 	}
 
+	@GET
+	@Path("/game_data")
+	@Produces(MediaType.TEXT_PLAIN)
+	public String getAllGameData() throws JsonProcessingException {
+		final List<GameData> data = raRequestService.prefetchAllConsoleGames();
+		Log.info("Returning RetroAchievements " + data.size() + " games for all consoles");
+		return raRequestService.getMapper().writeValueAsString(data);
+	}
+
 	@GET
 	@Path("/compare_data")
 	@Produces(MediaType.TEXT_PLAIN)
@@ -29,7 +29,7 @@ public abstract class AbstractPSNRequestService extends AbstractStandaloneReques
 //						+ ". Ignoring.");
 //				continue;
 //			}
-			model.getConsoleDataMap().get(getId()).getGameDataMap().put(data.getId(), data);
+			model.putGameData(model.getConsoleDataMap().get(getId()), data);
 			gameData.add(data);
 		}
 	}
@@ -6,8 +6,18 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -22,6 +32,7 @@ import com.opencsv.RFC4180ParserBuilder;
 import com.opencsv.exceptions.CsvException;
 
 import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
 import perso.project.model.ConsoleData;
 import perso.project.model.GameData;
@@ -37,6 +48,22 @@ public abstract class AbstractStandaloneRequestService extends AbstractRequestSe
 	@ConfigProperty(name = "standalone.games.by.ids.path")
 	private Path standaloneGamesByIdsPath;
 
+	@Inject
+	@ConfigProperty(name = "standalone.parse.concurrency")
+	int parseConcurrency;
+
+	// Locks of games being parsed, virtual threads are not pinned while waiting
+	private final Map<Integer, ReentrantLock> gameLocks = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	void checkParseConcurrency() {
+		// A semaphore without permits would block every parse
+		if (parseConcurrency < 1) {
+			throw new IllegalStateException(
+					"standalone.parse.concurrency must be at least 1, found " + parseConcurrency);
+		}
+	}
+
 	protected abstract Path getHTMLPath();
 
 	protected abstract Path getGamesBeatenPath();
@@ -86,7 +113,9 @@ public abstract class AbstractStandaloneRequestService extends AbstractRequestSe
 	@Override
 	public List<ConsoleData> getConsoleIds() {
 		ConsoleData saConsoleData;
-		if (!model.getConsoleDataMap().containsKey(getId())) {
+		final ConsoleData existing = model.getConsoleDataMap().get(getId());
+		// Placeholder consoles created while reading the database are replaced
+		if (existing == null || existing.isPlaceholder()) {
 			Log.info("Getting " + getSource() + " console data");
 			saConsoleData = new ConsoleData();
 			saConsoleData.setActive(true);
@@ -94,9 +123,9 @@ public abstract class AbstractStandaloneRequestService extends AbstractRequestSe
 			saConsoleData.setId(getId());
 			saConsoleData.setName(getSource().getName());
 			saConsoleData.setSource(getSource());
-			model.getConsoleDataMap().put(saConsoleData.getId(), saConsoleData);
+			saConsoleData = model.putConsoleData(saConsoleData);
 		} else {
-			saConsoleData = model.getConsoleDataMap().get(getId());
+			saConsoleData = existing;
 		}
 		return List.of(saConsoleData);
 	}
@@ -128,7 +157,7 @@ public abstract class AbstractStandaloneRequestService extends AbstractRequestSe
 				gameData.setCompletionStatus(CompletionStatusEnum.BEATEN);
 				setGameAchievementPercent(gameData);
 
-				model.getConsoleDataMap().get(getId()).getGameDataMap().put(gameId, gameData);
+				model.putGameData(model.getConsoleDataMap().get(getId()), gameData);
 				beatenList.add(gameData);
 				Log.info(gameName + " (" + gameId + ") for " + getSource() + " is Beaten");
 			}
@@ -166,7 +195,7 @@ public abstract class AbstractStandaloneRequestService extends AbstractRequestSe
 				gameData.setCompletionStatus(CompletionStatusEnum.MASTERED);
 				setGameAchievementPercent(gameData);
 
-				model.getConsoleDataMap().get(getId()).getGameDataMap().put(gameId, gameData);
+				model.putGameData(model.getConsoleDataMap().get(getId()), gameData);
 				masteredList.add(gameData);
 				Log.info(gameName + " (" + gameId + ") for " + getSource() + " is Mastered");
 			}
@@ -196,13 +225,105 @@ public abstract class AbstractStandaloneRequestService extends AbstractRequestSe
 		return gameData;
 	}
 
+	/**
+	 * Parses each emulator entry on its own virtual thread, with at most
+	 * standalone.parse.concurrency parsed at once, and waits for all of them
+	 *
+	 * @param <T>
+	 * @param entries
+	 * @param parser
+	 */
+	protected <T> void parseInParallel(final Collection<T> entries, final Consumer<T> parser) {
+		final Semaphore permits = new Semaphore(parseConcurrency);
+		try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (final T entry : entries) {
+				executor.execute(() -> {
+					try {
+						permits.acquire();
+					} catch (final InterruptedException e) {
+						Log.warn("Interrupted before parsing " + getSource() + " data for " + entry);
+						Thread.currentThread().interrupt();
+						return;
+					}
+					try {
+						parser.accept(entry);
+					} catch (final RuntimeException e) {
+						Log.error("Cannot parse " + getSource() + " data for " + entry, e);
+					} finally {
+						permits.release();
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * @param gameUUID
+	 * @return Game with the title linked to the UUID in the standalone game ids
+	 */
+	protected Optional<GameData> findGameData(final String gameUUID) {
+		final String gameName = model.getStandaloneGamesByIds().get(gameUUID);
+		if (gameName == null) {
+			Log.error("Cannot find " + getSource() + " game for UUID " + gameUUID);
+			return Optional.empty();
+		}
+		final Optional<GameData> gameDataOpt = model.getConsoleDataMap().get(getId()).getGameDataMap().values()
+				.stream().filter(g -> g.getTitle().equals(gameName)).findFirst();
+		if (gameDataOpt.isEmpty()) {
+			Log.error("Could not find " + getSource() + " game " + gameName + " for UUID " + gameUUID);
+		} else {
+			Log.info("Found " + getSource() + " game " + gameName + " for UUID " + gameUUID);
+		}
+		return gameDataOpt;
+	}
+
+	/**
+	 * Several UUIDs can link to the same game, which is parsed by one thread at a
+	 * time
+	 *
+	 * @param gameData
+	 * @return Lock of the game
+	 */
+	protected Lock getGameLock(final GameData gameData) {
+		return gameLocks.computeIfAbsent(gameData.getId(), id -> new ReentrantLock());
+	}
+
+	/**
+	 * Puts a parsed game back into its console, so that the change is persisted
+	 *
+	 * @param gameData
+	 */
+	protected void mergeGameData(final GameData gameData) {
+		model.putGameData(model.getConsoleDataMap().get(getId()), gameData);
+	}
+
+	/**
+	 * Uses the UUID linked to the game if the emulator has data for it, else finds
+	 * it by title in the standalone game ids, which are only read if not read yet
+	 *
+	 * @param gameData
+	 * @param hasEmulatorData True if the emulator has data for the UUID
+	 * @return UUID of the game
+	 */
+	protected Optional<String> getGameUUID(final GameData gameData, final Predicate<String> hasEmulatorData) {
+		if (model.getStandaloneGamesByIds().isEmpty()) {
+			readStandaloneGamesByIds();
+		}
+		final String linkedUUID = gameData.getUUID();
+		if (linkedUUID != null && !linkedUUID.isBlank() && hasEmulatorData.test(linkedUUID)) {
+			return Optional.of(linkedUUID);
+		}
+		return model.getStandaloneGamesByIds().entrySet().stream()
+				.filter(e -> e.getValue().equals(gameData.getTitle()) && hasEmulatorData.test(e.getKey()))
+				.map(Map.Entry::getKey).findFirst();
+	}
+
 	protected void readStandaloneGamesByIds() {
 		try {
 			final Map<String, String> values = mapper.readValue(standaloneGamesByIdsPath.toFile(),
 					new TypeReference<Map<String, String>>() {
 					});
-			model.getStandaloneGamesByIds().clear();
-			values.forEach(model.getStandaloneGamesByIds()::put);
+			model.setStandaloneGamesByIds(values);
 		} catch (final IOException e) {
 			Log.error("Cannot read file at " + standaloneGamesByIdsPath, e);
 		}
@@ -34,7 +34,7 @@ public abstract class AbstractXboxRequestService extends AbstractStandaloneReque
 				continue;
 			}
 			gameData.add(data);
-			model.getConsoleDataMap().get(getId()).getGameDataMap().put(data.getId(), data);
+			model.putGameData(model.getConsoleDataMap().get(getId()), data);
 		}
 	}
 
@@ -7,9 +7,12 @@ import java.net.URISyntaxException;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
@@ -24,6 +27,7 @@ import com.opencsv.RFC4180ParserBuilder;
 import com.opencsv.exceptions.CsvException;
 
 import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import perso.project.model.AchievementData;
@@ -36,9 +40,6 @@ import perso.project.utils.AbstractRequestService;
 
 @ApplicationScoped
 public class SteamRequestService extends AbstractRequestService {
-	static final int RETRY_MAX = 3;
-	private int retryIndex = 1;
-
 	static final String STEAM_API_KEY_KEY = "STEAM_API_KEY";
 
 	static final String MAIN_URI = "https://api.steampowered.com/";
@@ -54,12 +55,18 @@ public class SteamRequestService extends AbstractRequestService {
 	static final String PERCENTAGES_METHOD = "GetGlobalAchievementPercentagesForApp";
 	static final String APPDETAILS_URL = "https://store.steampowered.com/api/appdetails?appids=";
 
+	static final String SIMPLE_GAME_DATA_OPERATION = "game_data";
+	static final String FULL_GAME_DATA_OPERATION = "full_game_data";
+
 	static final String V001 = "v001";
 	static final String V002 = "v002";
 
 	static final String IMAGE_URL = "http://media.steampowered.com/steamcommunity/public/images/apps/";
 	static final String IMAGE_URL_SUFFIX = ".jpg";
 
+	static final TypeReference<List<AchievementData>> ACHIEVEMENT_LIST_TYPE = new TypeReference<>() {
+	};
+
 	@Inject
 	@ConfigProperty(name = "steam.id")
 	String steamId;
@@ -68,6 +75,30 @@ public class SteamRequestService extends AbstractRequestService {
 	@ConfigProperty(name = "steam_access_token")
 	String steamAccessToken;
 
+	@Inject
+	@ConfigProperty(name = "steam.rate.limit.per.second")
+	double steamRateLimit;
+
+	@Inject
+	@ConfigProperty(name = "steam.rate.limit.burst")
+	int steamRateLimitBurst;
+
+	@Inject
+	@ConfigProperty(name = "steam.store.rate.limit.per.second")
+	double steamStoreRateLimit;
+
+	@Inject
+	@ConfigProperty(name = "steam.store.rate.limit.burst")
+	int steamStoreRateLimitBurst;
+
+	@Inject
+	@ConfigProperty(name = "steam.cache.schema.ttl")
+	Duration steamSchemaCacheTtl;
+
+	@Inject
+	@ConfigProperty(name = "steam.cache.appdetails.ttl")
+	Duration steamAppDetailsCacheTtl;
+
 	@Inject
 	@ConfigProperty(name = "steam.beaten.path")
 	private java.nio.file.Path steamBeatenPath;
@@ -80,6 +111,12 @@ public class SteamRequestService extends AbstractRequestService {
 	@ConfigProperty(name = "steam.removed.path")
 	private java.nio.file.Path steamRemovedPath;
 
+	@PostConstruct
+	void setupRateLimits() {
+		rateLimitService.register(URI.create(MAIN_URI).getHost(), steamRateLimit, steamRateLimitBurst);
+		rateLimitService.register(URI.create(APPDETAILS_URL).getHost(), steamStoreRateLimit, steamStoreRateLimitBurst);
+	}
+
 	/**
 	 * Creates <b>blocking</b> HTTP request
 	 * 
@@ -89,6 +126,43 @@ public class SteamRequestService extends AbstractRequestService {
 	 */
 	HttpResponse<String> requestData(final String service, final String method, final String version,
 			final String... params) {
+		final URI uri = createURI(service, method, version, params);
+		if (uri == null) {
+			return null;
+		}
+		return requestHttpURI(uri);
+	}
+
+	/**
+	 * Creates <b>non blocking</b> HTTP request
+	 * 
+	 * @param method
+	 * @param params
+	 * @return
+	 */
+	CompletableFuture<HttpResponse<String>> requestDataAsync(final String service, final String method,
+			final String version, final String... params) {
+		return requestDataAsync(Duration.ZERO, service, method, version, params);
+	}
+
+	/**
+	 * Creates <b>non blocking</b> HTTP request, using the response cache
+	 * 
+	 * @param cacheTtl
+	 * @param method
+	 * @param params
+	 * @return
+	 */
+	CompletableFuture<HttpResponse<String>> requestDataAsync(final Duration cacheTtl, final String service,
+			final String method, final String version, final String... params) {
+		final URI uri = createURI(service, method, version, params);
+		if (uri == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return requestHttpURIAsync(uri, cacheTtl);
+	}
+
+	private URI createURI(final String service, final String method, final String version, final String... params) {
 		final String steamApiKey = System.getenv(STEAM_API_KEY_KEY);
 		if (steamApiKey == null) {
 			Log.error("Steam API Key not defined as environment variable");
@@ -101,18 +175,41 @@ public class SteamRequestService extends AbstractRequestService {
 			for (final String param : params) {
 				uriString.append("&").append(param);
 			}
-			final URI uri = new URI(uriString.toString());
-			return requestHttpURI(uri);
+			return new URI(uriString.toString());
 		} catch (final URISyntaxException e) {
 			Log.error("Error creating URI", e);
 			return null;
 		}
 	}
 
+	/**
+	 * Reads response as JSON. Retries are done when sending the request
+	 * 
+	 * @param request
+	 * @param gameId
+	 * @return Future completed with response JSON, or null if response is not
+	 *         usable
+	 */
+	private CompletableFuture<JsonNode> requestJsonAsync(final CompletableFuture<HttpResponse<String>> request,
+			final int gameId) {
+		return request.thenApply(response -> {
+			try {
+				return mapper.readTree(parseResponse(response));
+			} catch (final JsonProcessingException e) {
+				throw new CompletionException(e);
+			}
+		}).exceptionally(e -> {
+			Log.error("Error reading response body for " + gameId, e);
+			return null;
+		});
+	}
+
 	@Override
 	public List<ConsoleData> getConsoleIds() {
 		ConsoleData steamConsoleData;
-		if (!model.getConsoleDataMap().containsKey(Model.STEAM_CONSOLE_ID)) {
+		final ConsoleData existing = model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID);
+		// Placeholder consoles created while reading the database are replaced
+		if (existing == null || existing.isPlaceholder()) {
 			Log.info("Getting Steam console data");
 			steamConsoleData = new ConsoleData();
 			steamConsoleData.setActive(true);
@@ -120,9 +217,9 @@ public class SteamRequestService extends AbstractRequestService {
 			steamConsoleData.setId(Model.STEAM_CONSOLE_ID);
 			steamConsoleData.setName(ConsoleSourceEnum.STEAM.getName());
 			steamConsoleData.setSource(ConsoleSourceEnum.STEAM);
-			model.getConsoleDataMap().put(steamConsoleData.getId(), steamConsoleData);
+			steamConsoleData = model.putConsoleData(steamConsoleData);
 		} else {
-			steamConsoleData = model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID);
+			steamConsoleData = existing;
 		}
 		return List.of(steamConsoleData);
 	}
@@ -139,18 +236,17 @@ public class SteamRequestService extends AbstractRequestService {
 			// ClientAppList has all games, even free ones but less details
 			final String clientResBody = parseResponse(requestData(CLIENT_SERVICE, CLIENT_APP_LIST_METHOD, V001,
 					"access_token=" + steamAccessToken, "fields=games"));
-			final JsonNode node = mapper.readTree(clientResBody);
-			final JsonNode gameDataNode = node.get("response").get("apps");
-			gameDataNode.forEach(n -> {
+			final List<JsonNode> gameDataNodes = readArray(clientResBody, JsonNode.class, "response", "apps");
+			gameDataNodes.forEach(n -> {
 				final int id = n.get("appid").asInt();
 				// Ignore games already setup before
 				final GameData data = new GameData();
 				data.setId(id);
 				data.setTitle(n.get("app").asText());
-				model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID).getGameDataMap().put(data.getId(), data);
+				model.putGameData(model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID), data);
 			});
-			Log.info("Found " + gameDataNode.size() + " games for Steam");
-		} catch (JsonProcessingException e) {
+			Log.info("Found " + gameDataNodes.size() + " games for Steam");
+		} catch (IOException e) {
 			Log.error("Error reading response body as GameData", e);
 			return null;
 		}
@@ -159,124 +255,180 @@ public class SteamRequestService extends AbstractRequestService {
 			// OwnedGames has image URL
 			final String ownedGamesResBody = parseResponse(requestData(PLAYER_SERVICE, OWNED_GAMES_METHOD, V001,
 					"format=json", "include_appinfo=1", "include_played_free_games=1", "skip_unvetted_apps=0"));
-			final JsonNode node = mapper.readTree(ownedGamesResBody);
-			final String gameDataBody = node.get("response").get("games").toString();
-			final List<GameData> gameData = mapper.readValue(gameDataBody, new TypeReference<List<GameData>>() {
-			});
+			final List<GameData> gameData = readArray(ownedGamesResBody, GameData.class, "response", "games");
 			gameData.forEach(data -> {
 				data.setImageURL(
 						IMAGE_URL + Integer.toString(data.getId()) + "/" + data.getImageURL() + "/" + IMAGE_URL_SUFFIX);
-				model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID).getGameDataMap().put(data.getId(), data);
+				model.putGameData(model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID), data);
 			});
 			Log.info("Found " + gameData.size() + " games for Steam");
-		} catch (JsonProcessingException e) {
+		} catch (IOException e) {
 			Log.error("Error reading response body as GameData", e);
 			return null;
 		}
 
-		model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID).getGameDataMap().values().forEach(g -> {
-			g.setConsoleId(Model.STEAM_CONSOLE_ID);
-			g.setConsoleName("Steam");
+		final ConsoleData steamConsole = model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID);
+		steamConsole.getGameDataMap().values().forEach(g -> {
+			if (g.getConsoleId() != Model.STEAM_CONSOLE_ID || !"Steam".equals(g.getConsoleName())) {
+				g.setConsoleId(Model.STEAM_CONSOLE_ID);
+				g.setConsoleName("Steam");
+				model.putGameData(steamConsole, g);
+			}
 		});
 
 		return model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID).getGameDataMap().values().stream().toList();
 	}
 
 	public GameData getSimpleGameData(final int gameId) {
+		return getSimpleGameDataAsync(gameId).join();
+	}
+
+	/**
+	 * Requests unlocked achievements and unlock percentages at the same time, then
+	 * merges both into the existing game data. Concurrent calls for the same game
+	 * share the same requests
+	 * 
+	 * @param gameId
+	 * @return
+	 */
+	public CompletableFuture<GameData> getSimpleGameDataAsync(final int gameId) {
+		return requestGameDataOnce(ConsoleSourceEnum.STEAM, gameId, SIMPLE_GAME_DATA_OPERATION,
+				() -> requestSimpleGameData(gameId));
+	}
+
+	private CompletableFuture<GameData> requestSimpleGameData(final int gameId) {
 		Log.info("Getting simple game data for Steam game " + gameId);
 		final GameData existingGameData = model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID).getGameDataMap()
 				.get(gameId);
 		if (existingGameData == null) {
 			Log.error("No Steam game found for id " + gameId);
-			return null;
+			return CompletableFuture.completedFuture(null);
 		}
 
-		getAchievements(gameId);
-		setPercentageData(existingGameData);
-		parseAchievementData(existingGameData);
+		final CompletableFuture<JsonNode> achievementsFuture = requestAchievements(gameId);
+		final CompletableFuture<JsonNode> percentagesFuture = requestPercentageData(gameId);
 
-		return existingGameData;
+		return achievementsFuture.thenCombine(percentagesFuture, (achievementsNode, percentagesNode) -> {
+			final List<AchievementData> achievements = setAchievements(existingGameData, achievementsNode);
+			setPercentageData(existingGameData, achievements, percentagesNode);
+			parseAchievementData(existingGameData, achievements);
+			return existingGameData;
+		});
 	}
 
 	public GameData getFullGameData(final int gameId) {
+		return getFullGameDataAsync(gameId).join();
+	}
+
+	/**
+	 * Requests unlocked achievements, game schema, unlock percentages and store
+	 * details at the same time, then merges all of them into the existing game
+	 * data. Concurrent calls for the same game share the same requests
+	 * 
+	 * @param gameId
+	 * @return
+	 */
+	public CompletableFuture<GameData> getFullGameDataAsync(final int gameId) {
+		return requestGameDataOnce(ConsoleSourceEnum.STEAM, gameId, FULL_GAME_DATA_OPERATION,
+				() -> requestFullGameData(gameId));
+	}
+
+	private CompletableFuture<GameData> requestFullGameData(final int gameId) {
 		Log.info("Getting full game data for Steam game " + gameId);
 		final GameData existingGameData = model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID).getGameDataMap()
 				.get(gameId);
 		if (existingGameData == null) {
 			Log.error("No Steam game found for id " + gameId);
-			return null;
+			return CompletableFuture.completedFuture(null);
 		}
 
 		// First, re-read local files
 		getLocalData();
 
-		getAchievements(gameId);
-		setAchievementData(existingGameData);
-		setPercentageData(existingGameData);
-		setImageURL(existingGameData);
-		parseAchievementData(existingGameData);
+		final CompletableFuture<JsonNode> achievementsFuture = requestAchievements(gameId);
+		final CompletableFuture<JsonNode> schemaFuture = requestAchievementData(gameId);
+		final CompletableFuture<JsonNode> percentagesFuture = requestPercentageData(gameId);
+		final CompletableFuture<JsonNode> appDetailsFuture = requestAppDetails(gameId);
+
+		return CompletableFuture.allOf(achievementsFuture, schemaFuture, percentagesFuture, appDetailsFuture)
+				.thenApply(v -> {
+					final List<AchievementData> achievements = setAchievements(existingGameData,
+							achievementsFuture.join());
+					setAchievementData(existingGameData, achievements, schemaFuture.join());
+					setPercentageData(existingGameData, achievements, percentagesFuture.join());
+					setImageURL(existingGameData, appDetailsFuture.join());
+					parseAchievementData(existingGameData, achievements);
+					return existingGameData;
+				});
+	}
+
+	private CompletableFuture<JsonNode> requestAchievements(final int gameId) {
+		return requestJsonAsync(
+				requestDataAsync(STEAM_USER_STATS, PLAYER_ACHIEVEMENTS_METHOD, V001, "appid=" + gameId), gameId);
+	}
+
+	private CompletableFuture<JsonNode> requestAchievementData(final int gameId) {
+		return requestJsonAsync(
+				requestDataAsync(steamSchemaCacheTtl, STEAM_USER_STATS, GAME_SCHEMA_METHOD, V002, "appid=" + gameId),
+				gameId);
+	}
+
+	private CompletableFuture<JsonNode> requestPercentageData(final int gameId) {
+		return requestJsonAsync(requestDataAsync(STEAM_USER_STATS, PERCENTAGES_METHOD, V002, "gameid=" + gameId),
+				gameId);
+	}
 
-		return existingGameData;
+	private CompletableFuture<JsonNode> requestAppDetails(final int gameId) {
+		return requestJsonAsync(requestHttpURIAsync(URI.create(APPDETAILS_URL + gameId), steamAppDetailsCacheTtl),
+				gameId);
 	}
 
 	/**
-	 * Gets which achievement user has unlocked
+	 * Sets which achievement user has unlocked
 	 * 
-	 * @param gameId
-	 * @return
+	 * @param gameData
+	 * @param node     GetPlayerAchievements response
+	 * @return New achievement list, published once the whole game is parsed
 	 */
-	private GameData getAchievements(final int gameId) {
-		Log.info("Getting achievements for Steam game " + gameId);
-		final GameData existingGameData = model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID).getGameDataMap()
-				.get(gameId);
-		if (existingGameData == null) {
-			Log.error("No Steam game found for id " + gameId);
-			return null;
+	private List<AchievementData> setAchievements(final GameData gameData, final JsonNode node) {
+		final List<AchievementData> achievements = new ArrayList<>(gameData.getAchievementData());
+		if (node == null) {
+			return achievements;
 		}
 
 		try {
-			final String resBody = parseResponse(
-					requestData(STEAM_USER_STATS, PLAYER_ACHIEVEMENTS_METHOD, V001, "appid=" + gameId));
-			final JsonNode node = mapper.readTree(resBody);
 			final JsonNode achievementsNode = node.get("playerstats").get("achievements");
 			if (achievementsNode == null) {
 				// No achievements
-				Log.info("Found no achievements for Steam game " + existingGameData.getTitle() + " (" + gameId + ")");
+				Log.info("Found no achievements for Steam game " + gameData.getTitle() + " (" + gameData.getId() + ")");
 			} else {
-				final String dataBody = achievementsNode.toString();
-				final List<AchievementData> achievementData = mapper.readValue(dataBody,
-						new TypeReference<List<AchievementData>>() {
-						});
-				existingGameData.getAchievementData().clear();
-				existingGameData.getAchievementData().addAll(achievementData);
+				final List<AchievementData> achievementData = mapper.treeToValue(achievementsNode,
+						ACHIEVEMENT_LIST_TYPE);
+				achievements.clear();
+				achievements.addAll(achievementData);
 			}
-			retryIndex = 1;
-			return existingGameData;
 		} catch (JsonProcessingException e) {
 			Log.error("Error reading response body as GameData", e);
-			if (retryIndex > RETRY_MAX) {
-				Log.error("Out of retries for " + existingGameData.getId());
-				return null;
-			} else {
-				Log.error("Retrying for " + existingGameData.getId() + " => " + retryIndex + " / " + RETRY_MAX + "...");
-				retryIndex++;
-				return getAchievements(gameId);
-			}
 		}
+		return achievements;
 	}
 
 	/**
-	 * Gets description and icons for each achievement
+	 * Sets description and icons for each achievement
 	 * 
 	 * @param gameData
+	 * @param achievements Achievements not published yet
+	 * @param node         GetSchemaForGame response
 	 * @return
 	 */
-	private GameData setAchievementData(final GameData gameData) {
+	private GameData setAchievementData(final GameData gameData, final List<AchievementData> achievements,
+			final JsonNode node) {
+		if (node == null) {
+			return gameData;
+		}
+
 		try {
 			// Game schema
-			final String schemaResBody = parseResponse(
-					requestData(STEAM_USER_STATS, GAME_SCHEMA_METHOD, V002, "appid=" + gameData.getId()));
-			final JsonNode node = mapper.readTree(schemaResBody);
 			final JsonNode gameNode = node.get("game").get("availableGameStats");
 			// No achievements
 			if (gameNode == null) {
@@ -288,12 +440,10 @@ public class SteamRequestService extends AbstractRequestService {
 				// No achievements
 				Log.info("Found no achievements for Steam game " + gameData.getTitle() + " (" + gameData.getId() + ")");
 			} else {
-				final String dataBody = achievementsNode.toString();
-				final List<AchievementData> achievementData = mapper.readValue(dataBody,
-						new TypeReference<List<AchievementData>>() {
-						});
+				final List<AchievementData> achievementData = mapper.treeToValue(achievementsNode,
+						ACHIEVEMENT_LIST_TYPE);
 				achievementData.forEach(ach -> {
-					final Optional<AchievementData> existingAchievement = gameData.getAchievementData().stream()
+					final Optional<AchievementData> existingAchievement = achievements.stream()
 							.filter(existingAch -> existingAch.getName().equals(ach.getName())).findFirst();
 					AchievementData achievement;
 					if (existingAchievement.isEmpty()) {
@@ -307,54 +457,46 @@ public class SteamRequestService extends AbstractRequestService {
 					achievement.setIconLockedURL(ach.getIconLockedURL());
 					achievement.setIconUnlockedURL(ach.getIconUnlockedURL());
 					if (existingAchievement.isEmpty()) {
-						gameData.getAchievementData().add(achievement);
+						achievements.add(achievement);
 					}
-					achievement.setDisplayOrder(gameData.getAchievementData().indexOf(achievement));
+					achievement.setDisplayOrder(achievements.indexOf(achievement));
 				});
 			}
-			retryIndex = 1;
 		} catch (JsonProcessingException e) {
 			Log.error("Error reading response body as AchievevementData", e);
-			if (retryIndex > RETRY_MAX) {
-				Log.error("Out of retries for " + gameData.getId());
-				return null;
-			} else {
-				Log.error("Retrying for " + gameData.getId() + " => " + retryIndex + " / " + RETRY_MAX + "...");
-				retryIndex++;
-				return setAchievementData(gameData);
-			}
 		}
 		return gameData;
 	}
 
 	/**
-	 * Gets unlock percentage data for all achievements
+	 * Sets unlock percentage data for all achievements
 	 * 
 	 * @param gameData
+	 * @param achievements Achievements not published yet
+	 * @param node         GetGlobalAchievementPercentagesForApp response
 	 * @return
 	 */
-	private GameData setPercentageData(final GameData gameData) {
-		if (gameData.getAchievementData().isEmpty()) {
+	private GameData setPercentageData(final GameData gameData, final List<AchievementData> achievements,
+			final JsonNode node) {
+		if (achievements.isEmpty()) {
 			Log.info("No achievements for Steam game " + gameData.getTitle() + " (" + gameData.getId() + "). Ignoring");
 			return gameData;
 		}
+		if (node == null) {
+			return gameData;
+		}
 
 		try {
 			// Unlock rates
-			final String percentagesResBody = parseResponse(
-					requestData(STEAM_USER_STATS, PERCENTAGES_METHOD, V002, "gameid=" + gameData.getId()));
-			final JsonNode node = mapper.readTree(percentagesResBody);
 			final JsonNode achievementsNode = node.get("achievementpercentages");
 			if (achievementsNode == null) {
 				// No achievements
 				Log.info("Found no achievements for Steam game " + gameData.getTitle() + " (" + gameData.getId() + ")");
 			} else {
-				final String dataBody = achievementsNode.get("achievements").toString();
-				final List<AchievementData> achievementData = mapper.readValue(dataBody,
-						new TypeReference<List<AchievementData>>() {
-						});
+				final List<AchievementData> achievementData = mapper.treeToValue(achievementsNode.get("achievements"),
+						ACHIEVEMENT_LIST_TYPE);
 				achievementData.forEach(ach -> {
-					final Optional<AchievementData> existingAchievement = gameData.getAchievementData().stream()
+					final Optional<AchievementData> existingAchievement = achievements.stream()
 							.filter(existingAch -> existingAch.getName().equals(ach.getName())).findFirst();
 					AchievementData achievement;
 					if (existingAchievement.isEmpty()) {
@@ -365,54 +507,35 @@ public class SteamRequestService extends AbstractRequestService {
 					// Update data from existing achievement
 					achievement.setUnlockPercentage(ach.getUnlockPercentage());
 					if (existingAchievement.isEmpty()) {
-						gameData.getAchievementData().add(ach);
+						achievements.add(ach);
 					}
 				});
 			}
-			retryIndex = 1;
 		} catch (JsonProcessingException e) {
 			Log.error("Error reading response body as AchievevementData", e);
-			if (retryIndex > RETRY_MAX) {
-				Log.error("Out of retries for " + gameData.getId());
-				return null;
-			} else {
-				Log.error("Retrying for " + gameData.getId() + " => " + retryIndex + " / " + RETRY_MAX + "...");
-				retryIndex++;
-				return setPercentageData(gameData);
-			}
 		}
 		return gameData;
 	}
 
 	/**
-	 * Gets game header image
+	 * Sets game header image
 	 * 
 	 * @param gameData
+	 * @param node     appdetails response
 	 * @return
 	 */
-	private GameData setImageURL(final GameData gameData) {
-		try {
-			final String schemaResBody = parseResponse(requestHttpURI(URI.create(APPDETAILS_URL + gameData.getId())));
-			final JsonNode node = mapper.readTree(schemaResBody);
-			final JsonNode gameNode = node.get(Integer.toString(gameData.getId()));
-			if (!gameNode.get("success").asBoolean()) {
-				Log.info("No image for game " + gameData.getTitle() + " (" + gameData.getId() + " )");
-				return gameData;
-			}
-			final String headerImageURL = gameNode.get("data").get("header_image").asText();
-			gameData.setImageURL(headerImageURL);
-			retryIndex = 1;
-		} catch (JsonProcessingException e) {
-			Log.error("Error reading response body as GameData", e);
-			if (retryIndex > RETRY_MAX) {
-				Log.error("Out of retries for " + gameData.getId());
-				return null;
-			} else {
-				Log.error("Retrying for " + gameData.getId() + " => " + retryIndex + " / " + RETRY_MAX + "...");
-				retryIndex++;
-				return setImageURL(gameData);
-			}
+	private GameData setImageURL(final GameData gameData, final JsonNode node) {
+		if (node == null) {
+			return gameData;
+		}
+
+		final JsonNode gameNode = node.get(Integer.toString(gameData.getId()));
+		if (!gameNode.get("success").asBoolean()) {
+			Log.info("No image for game " + gameData.getTitle() + " (" + gameData.getId() + " )");
+			return gameData;
 		}
+		final String headerImageURL = gameNode.get("data").get("header_image").asText();
+		gameData.setImageURL(headerImageURL);
 		return gameData;
 	}
 
@@ -449,7 +572,7 @@ public class SteamRequestService extends AbstractRequestService {
 				gameData.setCompletionStatus(CompletionStatusEnum.BEATEN);
 				parseAchievementData(gameData);
 
-				model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID).getGameDataMap().put(gameId, gameData);
+				model.putGameData(model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID), gameData);
 				beatenList.add(gameData);
 			}
 			return beatenList;
@@ -492,7 +615,7 @@ public class SteamRequestService extends AbstractRequestService {
 				gameData.setCompletionStatus(CompletionStatusEnum.MASTERED);
 				parseAchievementData(gameData);
 
-				model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID).getGameDataMap().put(gameId, gameData);
+				model.putGameData(model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID), gameData);
 				masteredList.add(gameData);
 			}
 			return masteredList;
@@ -503,9 +626,12 @@ public class SteamRequestService extends AbstractRequestService {
 	}
 
 	private GameData parseAchievementData(final GameData gameData) {
-		gameData.setTotalAchievements(gameData.getAchievementData().size());
-		gameData.setAwardedAchievements(
-				(int) gameData.getAchievementData().stream().filter(ach -> ach.isAchieved()).count());
+		return parseAchievementData(gameData, gameData.getAchievementData());
+	}
+
+	private GameData parseAchievementData(final GameData gameData, final List<AchievementData> achievements) {
+		gameData.setTotalAchievements(achievements.size());
+		gameData.setAwardedAchievements((int) achievements.stream().filter(ach -> ach.isAchieved()).count());
 
 		// Check if already set by Steam beaten and SteamMastered files
 		// If beaten or mastered, already set by other methodso
@@ -521,11 +647,11 @@ public class SteamRequestService extends AbstractRequestService {
 
 		// Parse achievements percentage and points
 		setGameAchievementPercent(gameData);
-		gameData.getAchievementData().forEach(ach -> parseAchievementPoints(gameData, ach));
+		achievements.forEach(ach -> parseAchievementPoints(gameData, ach));
 
 		// Parse total achievement data
-		gameData.setTotalPoints(gameData.getAchievementData().stream().mapToInt(AchievementData::getPoints).sum());
-		gameData.setTruePoints(gameData.getAchievementData().stream().mapToInt(AchievementData::getRealPoints).sum());
+		gameData.setTotalPoints(achievements.stream().mapToInt(AchievementData::getPoints).sum());
+		gameData.setTruePoints(achievements.stream().mapToInt(AchievementData::getRealPoints).sum());
 		if (gameData.getTotalPoints() != 0) {
 			gameData.setRatio((double) gameData.getTruePoints() / gameData.getTotalPoints());
 		} else {
@@ -533,9 +659,9 @@ public class SteamRequestService extends AbstractRequestService {
 		}
 
 		// Parse earned achievement data
-		gameData.setEarnedPoints(gameData.getAchievementData().stream().filter(AchievementData::isAchieved)
+		gameData.setEarnedPoints(achievements.stream().filter(AchievementData::isAchieved)
 				.mapToInt(AchievementData::getPoints).sum());
-		gameData.setEarnedTruePoints(gameData.getAchievementData().stream().filter(AchievementData::isAchieved)
+		gameData.setEarnedTruePoints(achievements.stream().filter(AchievementData::isAchieved)
 				.mapToInt(AchievementData::getRealPoints).sum());
 		if (gameData.getEarnedPoints() != 0) {
 			gameData.setEarnedRatio((double) gameData.getEarnedTruePoints() / gameData.getEarnedPoints());
@@ -543,6 +669,9 @@ public class SteamRequestService extends AbstractRequestService {
 			gameData.setEarnedRatio(1);
 		}
 
+		// Publish the achievements once the game counters match them
+		gameData.setAchievementData(achievements);
+
 		Log.info(gameData.getTitle() + " (" + gameData.getId() + ") for Steam is " + gameData.getCompletionStatus()
 				+ " with " + gameData.getAwardedAchievements() + " / " + gameData.getTotalAchievements()
 				+ " achievements and " + gameData.getTotalPoints() + " (" + gameData.getTruePoints() + ") points");
@@ -1,12 +1,19 @@
 package perso.project.steam;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
@@ -34,6 +41,10 @@ public class SteamResources extends AbstractResources {
 	@ConfigProperty(name = "steam.database.path")
 	private java.nio.file.Path steamDatabasePath;
 
+	@Inject
+	@ConfigProperty(name = "steam.refresh.concurrency")
+	int steamRefreshConcurrency;
+
 	@GET
 	@Path("/console_data")
 	@Produces(MediaType.TEXT_PLAIN)
@@ -72,6 +83,58 @@ public class SteamResources extends AbstractResources {
 		return steamRequestService.getMapper().writeValueAsString(data);
 	}
 
+	/**
+	 * Refreshes every Steam game with a bounded number of concurrent requests.
+	 * Each game is streamed as one NDJSON line as soon as it is ready. Compare and
+	 * database write are done once on a worker thread, when the refresh ends, even
+	 * if some games failed or the client cancelled
+	 * 
+	 * @return
+	 */
+	@GET
+	@Path("/refresh_all")
+	@Produces(RestMediaType.APPLICATION_NDJSON)
+	@RestStreamElementType(MediaType.TEXT_PLAIN)
+	public Multi<String> getRefreshAll() {
+		final List<Integer> gameIds = List
+				.copyOf(model.getConsoleDataMap().get(Model.STEAM_CONSOLE_ID).getGameDataMap().keySet());
+		Log.info("Refreshing " + gameIds.size() + " Steam games with " + steamRefreshConcurrency
+				+ " concurrent requests");
+
+		return Multi.createFrom().iterable(gameIds).onItem()
+				.transformToUni(gameId -> Uni.createFrom()
+						.completionStage(() -> steamRequestService.getSimpleGameDataAsync(gameId)).onFailure()
+						.invoke(e -> Log.error("Cannot refresh Steam game " + gameId, e)).onFailure()
+						.recoverWithNull())
+				.merge(steamRefreshConcurrency).emitOn(Infrastructure.getDefaultWorkerPool()).map(this::writeGameData)
+				.filter(Optional::isPresent).map(Optional::get).onTermination().invoke((failure, cancelled) -> {
+					if (failure != null) {
+						Log.error("Steam refresh stopped", failure);
+					}
+					// Cancellation can be delivered on the event loop, which must not block
+					Infrastructure.getDefaultWorkerPool().execute(() -> finishRefreshAll(gameIds.size()));
+				});
+	}
+
+	private void finishRefreshAll(final int gameCount) {
+		Log.info("Refreshed " + gameCount + " Steam games");
+		try {
+			getCompareData(steamRequestService, steamCompareService);
+		} catch (final JsonProcessingException e) {
+			Log.error("Cannot compare Steam data", e);
+		}
+		writeDatabase(steamDatabasePath);
+	}
+
+	private Optional<String> writeGameData(final GameData data) {
+		try {
+			return Optional.of(steamRequestService.getMapper().writeValueAsString(data));
+		} catch (final JsonProcessingException e) {
+			Log.error("Cannot write Steam game " + data.getId(), e);
+			return Optional.empty();
+		}
+	}
+
 	@GET
 	@Path("/write_database")
 	@Produces(MediaType.TEXT_PLAIN)
@@ -6,8 +6,18 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
@@ -19,14 +29,40 @@ import jakarta.inject.Inject;
 import perso.project.model.ConsoleData;
 import perso.project.model.GameData;
 import perso.project.model.MainModel;
+import perso.project.model.enums.ConsoleSourceEnum;
 
 public abstract class AbstractRequestService {
+	static final int OK = 200;
+	static final int NOT_MODIFIED = 304;
+	static final int BAD_REQUEST = 400;
+	static final String ETAG_HEADER = "ETag";
+	static final String LAST_MODIFIED_HEADER = "Last-Modified";
+	static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+	static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+
 	protected ObjectMapper mapper;
 	protected XmlMapper xmlMapper;
 
 	@Inject
 	protected MainModel model;
 
+	@Inject
+	protected HttpClientService httpClientService;
+
+	@Inject
+	protected RateLimitService rateLimitService;
+
+	@Inject
+	protected RetryPolicy retryPolicy;
+
+	@Inject
+	protected CircuitBreakerService circuitBreakerService;
+
+	@Inject
+	protected ResponseCacheService responseCacheService;
+
+	private final SingleFlight<RequestKey, GameData> gameDataRequests = new SingleFlight<>();
+
 	protected AbstractRequestService() {
 		setupMapper();
 	}
@@ -48,22 +84,128 @@ public abstract class AbstractRequestService {
 
 	/**
 	 * @return Console data for source
+	 * @throws IllegalStateException If the console data cannot be read
 	 */
-	protected abstract List<ConsoleData> getConsoleIds();
+	protected abstract List<ConsoleData> getConsoleIds() throws IllegalStateException;
 
 	protected HttpResponse<String> requestHttpURI(final URI uri) {
-		try {
-			Log.debug("Creating request for URI : " + uri.toString());
+		return requestHttpURI(uri, Duration.ZERO);
+	}
 
-			final HttpClient client = HttpClient.newBuilder().build();
-			final HttpRequest request = HttpRequest.newBuilder(uri).build();
-			return client.send(request, BodyHandlers.ofString());
-		} catch (IOException | InterruptedException e) {
-			Log.error("Error creating requesting uri " + uri.toString(), e);
+	protected HttpResponse<String> requestHttpURI(final URI uri, final Duration cacheTtl) {
+		try {
+			return requestHttpURIAsync(uri, cacheTtl).join();
+		} catch (final CompletionException e) {
+			Log.error("Error creating requesting uri " + uri.toString(), e.getCause());
 			return null;
 		}
 	}
 
+	/**
+	 * Creates <b>non blocking</b> HTTP request. Request is sent once the host rate
+	 * limit allows it, and retried following the retry policy
+	 * 
+	 * @param uri
+	 * @return Future completed with the response, or failed if the request failed
+	 */
+	protected CompletableFuture<HttpResponse<String>> requestHttpURIAsync(final URI uri) {
+		return requestHttpURIAsync(uri, Duration.ZERO);
+	}
+
+	/**
+	 * Creates <b>non blocking</b> HTTP request, served from the response cache
+	 * while younger than cacheTtl. Older cached responses are revalidated with
+	 * their ETag or Last-Modified values when the server sent them
+	 * 
+	 * @param uri
+	 * @param cacheTtl Zero to skip the cache
+	 * @return Future completed with the response, or failed if the request failed
+	 */
+	protected CompletableFuture<HttpResponse<String>> requestHttpURIAsync(final URI uri, final Duration cacheTtl) {
+		final HttpRequest.Builder requestBuilder = httpClientService.newRequest(uri);
+		if (cacheTtl.isZero()) {
+			return requestHttpURIAsync(requestBuilder.build(), 1);
+		}
+
+		final String cacheKey = responseCacheService.getKey(uri);
+		final Optional<CachedResponse> cachedResponseOpt = responseCacheService.get(cacheKey);
+		if (cachedResponseOpt.isPresent()) {
+			final CachedResponse cachedResponse = cachedResponseOpt.get();
+			if (responseCacheService.isFresh(cachedResponse, cacheTtl)) {
+				Log.debug("Using cached response for " + cacheKey);
+				return CompletableFuture.completedFuture(new CachedHttpResponse(requestBuilder.build(), cachedResponse));
+			}
+			if (cachedResponse.getEtag() != null) {
+				requestBuilder.header(IF_NONE_MATCH_HEADER, cachedResponse.getEtag());
+			}
+			if (cachedResponse.getLastModified() != null) {
+				requestBuilder.header(IF_MODIFIED_SINCE_HEADER, cachedResponse.getLastModified());
+			}
+		}
+
+		final HttpRequest request = requestBuilder.build();
+		return requestHttpURIAsync(request, 1).thenApply(response -> {
+			if (response.statusCode() == NOT_MODIFIED && cachedResponseOpt.isPresent()) {
+				Log.debug("Cached response still valid for " + cacheKey);
+				final CachedResponse cachedResponse = cachedResponseOpt.get();
+				cachedResponse.setStoredAt(System.currentTimeMillis());
+				responseCacheService.put(cacheKey, cachedResponse);
+				return new CachedHttpResponse(request, cachedResponse);
+			}
+			if (response.statusCode() == OK) {
+				final CachedResponse cachedResponse = new CachedResponse();
+				cachedResponse.setUri(cacheKey);
+				cachedResponse.setBody(response.body());
+				cachedResponse.setEtag(response.headers().firstValue(ETAG_HEADER).orElse(null));
+				cachedResponse.setLastModified(response.headers().firstValue(LAST_MODIFIED_HEADER).orElse(null));
+				cachedResponse.setStoredAt(System.currentTimeMillis());
+				responseCacheService.put(cacheKey, cachedResponse);
+			}
+			return response;
+		});
+	}
+
+	private CompletableFuture<HttpResponse<String>> requestHttpURIAsync(final HttpRequest request, final int attempt) {
+		final URI uri = request.uri();
+		final CircuitBreaker circuitBreaker = circuitBreakerService.getBreaker(uri);
+		if (!circuitBreaker.allowRequest()) {
+			Log.error("Circuit open for " + uri.getHost() + ". Not requesting " + uri.getPath());
+			return CompletableFuture.failedFuture(new IllegalStateException("Circuit open for " + uri.getHost()));
+		}
+		Log.debug("Creating request for URI : " + uri.toString() + " (attempt " + attempt + ")");
+
+		final HttpClient client = httpClientService.getClient(uri);
+		return rateLimitService.acquire(uri).thenCompose(v -> client.sendAsync(request, BodyHandlers.ofString()))
+				.handle((response, error) -> {
+					final boolean isRetryable = error == null ? retryPolicy.isRetryable(response)
+							: retryPolicy.isRetryable(error);
+					if (!isRetryable) {
+						// Client errors and parse errors are neither a success nor a host failure
+						if (error == null && response.statusCode() < BAD_REQUEST) {
+							circuitBreaker.onSuccess();
+						} else {
+							circuitBreaker.onIgnored();
+						}
+						return error == null ? CompletableFuture.completedFuture(response)
+								: CompletableFuture.<HttpResponse<String>>failedFuture(RetryPolicy.unwrap(error));
+					}
+					circuitBreaker.onFailure();
+					final String reason = error == null ? "status " + response.statusCode()
+							: RetryPolicy.unwrap(error).toString();
+					if (attempt >= retryPolicy.getMaxAttempts()) {
+						Log.error("Out of retries for " + uri.getHost() + uri.getPath() + " : " + reason);
+						return error == null ? CompletableFuture.completedFuture(response)
+								: CompletableFuture.<HttpResponse<String>>failedFuture(RetryPolicy.unwrap(error));
+					}
+					final long delay = retryPolicy.getDelayMillis(attempt, response);
+					Log.warn("Retrying " + uri.getHost() + uri.getPath() + " in " + delay + " ms => " + attempt + " / "
+							+ retryPolicy.getMaxAttempts() + " : " + reason);
+					return CompletableFuture.runAsync(() -> {
+					}, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, httpClientService.getExecutor()))
+							.thenCompose(v -> requestHttpURIAsync(request, attempt + 1));
+				}).thenCompose(Function.identity());
+	}
+
 	protected String parseResponse(final HttpResponse<String> response) throws IllegalStateException {
 		if (response == null) {
 			Log.error("Response is null");
@@ -74,6 +216,88 @@ public abstract class AbstractRequestService {
 		return body;
 	}
 
+	/**
+	 * Shares game request between concurrent callers for the same source, game
+	 * and operation, so that upstream calls are not duplicated
+	 * 
+	 * @param source
+	 * @param gameId
+	 * @param operation
+	 * @param request   Started only if no identical request is pending
+	 * @return Pending request
+	 */
+	protected CompletableFuture<GameData> requestGameDataOnce(final ConsoleSourceEnum source, final int gameId,
+			final String operation, final Supplier<CompletableFuture<GameData>> request) {
+		return gameDataRequests.execute(new RequestKey(source, gameId, operation),
+				() -> request.get().thenApply(this::recordGameData));
+	}
+
+	/**
+	 * Games are updated in place by requests, they are put back in the model so
+	 * that the change is persisted
+	 * 
+	 * @param gameData
+	 * @return gameData
+	 */
+	private GameData recordGameData(final GameData gameData) {
+		if (gameData == null) {
+			return null;
+		}
+		final ConsoleData console = model.getConsoleDataMap().get(gameData.getConsoleId());
+		if (console != null) {
+			model.putGameData(console, gameData);
+		}
+		return gameData;
+	}
+
+	/**
+	 * Streams JSON body down to the array found at path, and reads its elements
+	 * without building the whole JSON tree
+	 * 
+	 * @param body
+	 * @param type Element type
+	 * @param path Field names leading to the array
+	 * @return Array elements, empty if path is not found
+	 * @throws IOException
+	 */
+	protected <T> List<T> readArray(final String body, final Class<T> type, final String... path)
+			throws IOException {
+		final List<T> values = new ArrayList<>();
+		try (final JsonParser parser = mapper.createParser(body)) {
+			for (final String field : path) {
+				if (!moveToField(parser, field)) {
+					return values;
+				}
+			}
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				return values;
+			}
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				values.add(mapper.readValue(parser, type));
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Moves parser to field name inside the next object, skipping other fields
+	 * 
+	 * @return True if field was found
+	 */
+	private boolean moveToField(final JsonParser parser, final String field) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			return false;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			if (field.equals(parser.currentName())) {
+				return true;
+			}
+			parser.nextToken();
+			parser.skipChildren();
+		}
+		return false;
+	}
+
 	protected void setGameAchievementPercent(final GameData gameData) {
 		if (gameData.getTotalAchievements() == 0) {
 			switch (gameData.getCompletionStatus()) {
@@ -6,6 +6,7 @@ import java.util.List;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.quarkus.logging.Log;
 import jakarta.inject.Inject;
@@ -34,6 +35,8 @@ public abstract class AbstractResources {
 	@ConfigProperty(name = "playnite.data.path")
 	java.nio.file.Path playniteDataPath;
 
+	private volatile ObjectMapper headerMapper;
+
 	protected abstract ConsoleSourceEnum getSource();
 
 	protected String getConsoleIds(final AbstractRequestService requestService) throws JsonProcessingException {
@@ -52,12 +55,20 @@ public abstract class AbstractResources {
 
 	protected String getExistingData(final AbstractRequestService requestService, final Path databasePath)
 			throws JsonProcessingException {
-		// Read database file
-		databaseService.readDatabase(requestService, databasePath);
+		// Read database file, only once if already loaded at startup
+		databaseService.loadDatabase(getSource(), requestService, databasePath);
 
+		// Achievements are sent with full game data only
 		final List<GameData> data = model.getGameDataForSources(List.of(getSource()));
 		Log.info("Returning " + data.size() + " existing " + getSource() + " games");
-		return requestService.getMapper().writeValueAsString(data);
+		return getHeaderMapper(requestService).writeValueAsString(data);
+	}
+
+	private ObjectMapper getHeaderMapper(final AbstractRequestService requestService) {
+		if (headerMapper == null) {
+			headerMapper = GameHeaderMixIn.headerMapper(requestService.getMapper());
+		}
+		return headerMapper;
 	}
 
 	protected String writeDatabase(final Path path) {
@@ -0,0 +1,66 @@
+package perso.project.utils;
+
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.net.ssl.SSLSession;
+
+/**
+ * {@link HttpResponse} served from the HTTP response cache
+ */
+public class CachedHttpResponse implements HttpResponse<String> {
+	static final int OK = 200;
+
+	private final HttpRequest request;
+	private final CachedResponse cachedResponse;
+
+	public CachedHttpResponse(final HttpRequest request, final CachedResponse cachedResponse) {
+		this.request = request;
+		this.cachedResponse = cachedResponse;
+	}
+
+	@Override
+	public int statusCode() {
+		return OK;
+	}
+
+	@Override
+	public HttpRequest request() {
+		return request;
+	}
+
+	@Override
+	public Optional<HttpResponse<String>> previousResponse() {
+		return Optional.empty();
+	}
+
+	@Override
+	public HttpHeaders headers() {
+		return HttpHeaders.of(Map.of(), (name, value) -> true);
+	}
+
+	@Override
+	public String body() {
+		return cachedResponse.getBody();
+	}
+
+	@Override
+	public Optional<SSLSession> sslSession() {
+		return Optional.empty();
+	}
+
+	@Override
+	public URI uri() {
+		return request.uri();
+	}
+
+	@Override
+	public Version version() {
+		return Version.HTTP_1_1;
+	}
+}
@@ -0,0 +1,57 @@
+package perso.project.utils;
+
+/**
+ * Response body stored in the HTTP response cache, with the validators needed
+ * to revalidate it
+ */
+public class CachedResponse {
+	private String uri = "";
+
+	private String body = "";
+
+	private String etag = null;
+
+	private String lastModified = null;
+
+	private long storedAt = 0;
+
+	public String getUri() {
+		return uri;
+	}
+
+	public void setUri(String uri) {
+		this.uri = uri;
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+	public void setBody(String body) {
+		this.body = body;
+	}
+
+	public String getEtag() {
+		return etag;
+	}
+
+	public void setEtag(String etag) {
+		this.etag = etag;
+	}
+
+	public String getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(String lastModified) {
+		this.lastModified = lastModified;
+	}
+
+	public long getStoredAt() {
+		return storedAt;
+	}
+
+	public void setStoredAt(long storedAt) {
+		this.storedAt = storedAt;
+	}
+}
@@ -0,0 +1,76 @@
+package perso.project.utils;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker for one host. Opens after a number of consecutive failures,
+ * then lets a single trial request through once the open duration has passed
+ */
+public class CircuitBreaker {
+	enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final long openDurationNanos;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures = 0;
+	private long openedAtNanos = 0;
+	private boolean trialInFlight = false;
+
+	public CircuitBreaker(final int failureThreshold, final Duration openDuration) {
+		this.failureThreshold = failureThreshold;
+		this.openDurationNanos = openDuration.toNanos();
+	}
+
+	/**
+	 * @return True if a request can be sent now
+	 */
+	public synchronized boolean allowRequest() {
+		switch (state) {
+		case OPEN:
+			if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+				return false;
+			}
+			state = State.HALF_OPEN;
+			trialInFlight = true;
+			return true;
+		case HALF_OPEN:
+			if (trialInFlight) {
+				return false;
+			}
+			trialInFlight = true;
+			return true;
+		default:
+			return true;
+		}
+	}
+
+	public synchronized void onSuccess() {
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+		trialInFlight = false;
+	}
+
+	/**
+	 * Outcome that says nothing about the host health, like a client error. Only
+	 * frees the trial slot so that another request can test the host
+	 */
+	public synchronized void onIgnored() {
+		trialInFlight = false;
+	}
+
+	public synchronized void onFailure() {
+		consecutiveFailures++;
+		trialInFlight = false;
+		if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+			state = State.OPEN;
+			openedAtNanos = System.nanoTime();
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+}
@@ -0,0 +1,35 @@
+package perso.project.utils;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Keeps one {@link CircuitBreaker} per host
+ */
+@ApplicationScoped
+public class CircuitBreakerService {
+	@Inject
+	@ConfigProperty(name = "http.circuit.breaker.failure.threshold")
+	int failureThreshold;
+
+	@Inject
+	@ConfigProperty(name = "http.circuit.breaker.open.duration")
+	Duration openDuration;
+
+	private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+	/**
+	 * @param uri
+	 * @return Circuit breaker for the uri host
+	 */
+	public CircuitBreaker getBreaker(final URI uri) {
+		return breakers.computeIfAbsent(uri.getHost(), host -> new CircuitBreaker(failureThreshold, openDuration));
+	}
+}
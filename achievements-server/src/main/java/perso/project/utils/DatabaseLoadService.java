@@ -0,0 +1,128 @@
+package perso.project.utils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import perso.project.model.enums.ConsoleSourceEnum;
+import perso.project.ps3.PS3RequestService;
+import perso.project.psvita.PSVitaRequestService;
+import perso.project.ra.RetroAchievementsRequestService;
+import perso.project.steam.SteamRequestService;
+import perso.project.xbox360.Xbox360RequestService;
+
+/**
+ * Loads all source databases in parallel at startup. Readiness is reported by
+ * {@link DatabaseReadinessCheck} once every load is done
+ */
+@ApplicationScoped
+public class DatabaseLoadService {
+	@Inject
+	DatabaseService databaseService;
+
+	@Inject
+	RetroAchievementsRequestService raRequestService;
+
+	@Inject
+	SteamRequestService steamRequestService;
+
+	@Inject
+	PS3RequestService ps3RequestService;
+
+	@Inject
+	PSVitaRequestService psVitaRequestService;
+
+	@Inject
+	Xbox360RequestService xbox360RequestService;
+
+	@Inject
+	@ConfigProperty(name = "database.startup.load")
+	boolean startupLoad;
+
+	@Inject
+	@ConfigProperty(name = "ra.database.path")
+	Path raDatabasePath;
+
+	@Inject
+	@ConfigProperty(name = "steam.database.path")
+	Path steamDatabasePath;
+
+	@Inject
+	@ConfigProperty(name = "ps3.database.path")
+	Path ps3DatabasePath;
+
+	@Inject
+	@ConfigProperty(name = "psvita.database.path")
+	Path psVitaDatabasePath;
+
+	@Inject
+	@ConfigProperty(name = "xbox360.database.path")
+	Path xbox360DatabasePath;
+
+	private final Map<ConsoleSourceEnum, Duration> loadTimes = Collections
+			.synchronizedMap(new EnumMap<>(ConsoleSourceEnum.class));
+
+	// Completed once the startup load ends or is skipped
+	private final CompletableFuture<Void> loads = new CompletableFuture<>();
+
+	void onStart(@Observes final StartupEvent event) {
+		if (!startupLoad) {
+			Log.info("Database startup load is disabled");
+			loads.complete(null);
+			return;
+		}
+		final long start = System.nanoTime();
+		final List<CompletableFuture<Void>> sourceLoads = List.of(
+				load(ConsoleSourceEnum.RETRO_ACHIEVEMENTS, raRequestService, raDatabasePath),
+				load(ConsoleSourceEnum.STEAM, steamRequestService, steamDatabasePath),
+				load(ConsoleSourceEnum.PS3, ps3RequestService, ps3DatabasePath),
+				load(ConsoleSourceEnum.PSVITA, psVitaRequestService, psVitaDatabasePath),
+				load(ConsoleSourceEnum.XBOX_360, xbox360RequestService, xbox360DatabasePath));
+		CompletableFuture.allOf(sourceLoads.toArray(CompletableFuture[]::new)).whenComplete((v, e) -> {
+			Log.info("Databases loaded in " + Duration.ofNanos(System.nanoTime() - start).toMillis() + " ms");
+			loads.complete(null);
+		});
+	}
+
+	private CompletableFuture<Void> load(final ConsoleSourceEnum source, final AbstractRequestService requestService,
+			final Path path) {
+		return CompletableFuture.runAsync(() -> {
+			final long start = System.nanoTime();
+			databaseService.loadDatabase(source, requestService, path);
+			final Duration loadTime = Duration.ofNanos(System.nanoTime() - start);
+			loadTimes.put(source, loadTime);
+			Log.info("Loaded " + source + " database in " + loadTime.toMillis() + " ms");
+		}, Infrastructure.getDefaultWorkerPool()).exceptionally(e -> {
+			Log.error("Cannot load " + source + " database", e);
+			return null;
+		});
+	}
+
+	/**
+	 * @return True once all startup loads are done
+	 */
+	public boolean isLoaded() {
+		return loads.isDone();
+	}
+
+	/**
+	 * @return Load time of each loaded source
+	 */
+	public Map<ConsoleSourceEnum, Duration> getLoadTimes() {
+		synchronized (loadTimes) {
+			return new EnumMap<>(loadTimes);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package perso.project.utils;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Ready once all databases are loaded, with load time of each source in ms
+ */
+@Readiness
+@ApplicationScoped
+public class DatabaseReadinessCheck implements HealthCheck {
+	@Inject
+	DatabaseLoadService databaseLoadService;
+
+	@Override
+	public HealthCheckResponse call() {
+		final HealthCheckResponseBuilder builder = HealthCheckResponse.named("Databases")
+				.status(databaseLoadService.isLoaded());
+		databaseLoadService.getLoadTimes().forEach((source, loadTime) -> builder.withData(source.name(),
+				loadTime.toMillis()));
+		return builder.build();
+	}
+}
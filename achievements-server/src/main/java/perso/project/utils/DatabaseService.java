@@ -1,56 +1,562 @@
 package perso.project.utils;
 
-import java.io.FileInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.io.FilenameUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
 import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import perso.project.model.AchievementData;
+import perso.project.model.AchievementLoader;
 import perso.project.model.ConsoleData;
 import perso.project.model.GameData;
 import perso.project.model.Model;
+import perso.project.model.SourceChanges;
 import perso.project.model.enums.ConsoleSourceEnum;
 
+/**
+ * Database writes are deferred. A source is marked dirty and written once after
+ * the write delay, however many writes were asked in between. Only changed games
+ * are appended to a journal next to the database file, which is compacted into
+ * the database once too large. Files are replaced atomically so that a crash
+ * never leaves a partial database. Databases are JSON or Smile depending on the
+ * source, the format of existing files is detected when read. Databases use the
+ * {@link IndexedDatabase} layout so that only game headers are read eagerly.
+ * They are stored with their own extension next to the configured JSON path,
+ * a JSON file found there is migrated once and kept as backup
+ */
 @ApplicationScoped
 public class DatabaseService {
+	static final String JOURNAL_EXTENSION = ".journal";
+	static final String CONSOLES_EXTENSION = ".consoles";
+	static final String TEMP_EXTENSION = ".tmp";
+	static final String DATABASE_EXTENSION = ".acdb";
+	static final String BACKUP_EXTENSION = ".bak";
+	static final TypeReference<List<ConsoleData>> CONSOLE_LIST_TYPE = new TypeReference<List<ConsoleData>>() {
+	};
+	static final byte[] SMILE_HEADER = { ':', ')', '\n' };
+
+	@Inject
+	Model model;
+
+	@Inject
+	@ConfigProperty(name = "database.write.delay")
+	Duration writeDelay;
+
+	@Inject
+	@ConfigProperty(name = "database.journal.max.size.mb")
+	long journalMaxSizeMb;
+
 	@Inject
-	private Model model;
+	@ConfigProperty(name = "database.smile.sources")
+	Optional<List<ConsoleSourceEnum>> smileSources;
 
 	private ObjectMapper mapper = new ObjectMapper();
 
+	private ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+	// Sources read from a file in another format, fully rewritten on next flush
+	private final Set<ConsoleSourceEnum> migratedSources = ConcurrentHashMap.newKeySet();
+
+	// Files at the configured path waiting for migration, kept as backup after
+	private final Map<ConsoleSourceEnum, Path> legacyFiles = new ConcurrentHashMap<>();
+
+	// Last database read or written for each source, used to load achievements
+	private final Map<ConsoleSourceEnum, IndexedDatabase> databases = new ConcurrentHashMap<>();
+
+	// Games with achievements only in the journal, not in the database file
+	private final Map<ConsoleSourceEnum, Set<Integer>> journaledGames = new ConcurrentHashMap<>();
+
+	private final Map<ConsoleSourceEnum, CompletableFuture<Void>> loadedSources = new ConcurrentHashMap<>();
+
+	// Sources with console data refreshed from the network since startup
+	private final Set<ConsoleSourceEnum> refreshedSources = ConcurrentHashMap.newKeySet();
+
+	private final Map<ConsoleSourceEnum, Path> dirtySources = new ConcurrentHashMap<>();
+
+	private ScheduledThreadPoolExecutor writer;
+
+	@PostConstruct
+	void init() {
+		writer = new ScheduledThreadPoolExecutor(1, r -> {
+			final Thread thread = new Thread(r, "database-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Pending writes are flushed by the shutdown observer instead
+		writer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+	}
+
+	void onShutdown(@Observes final ShutdownEvent event) {
+		// Running write is not interrupted, flush waits for it
+		writer.shutdown();
+		flush();
+	}
+
+	/**
+	 * Marks source as dirty, it is written after the write delay
+	 *
+	 * @param source
+	 * @param path
+	 */
 	public void writeDatabase(final ConsoleSourceEnum source, final Path path) {
-		final List<GameData> gameDataForSources = model.getGameDataForSources(List.of(source));
+		if (dirtySources.put(source, path) == null) {
+			if (writer.isShutdown()) {
+				flush(source);
+				return;
+			}
+			Log.debug("Scheduling " + source + " database write in " + writeDelay.toMillis() + " ms");
+			writer.schedule(() -> flush(source), writeDelay.toMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Writes all dirty sources now
+	 */
+	public void flush() {
+		// Copy, a failed write marks its source dirty again
+		List.copyOf(dirtySources.keySet()).forEach(this::flush);
+	}
+
+	private synchronized void flush(final ConsoleSourceEnum source) {
+		final Path path = dirtySources.remove(source);
+		if (path == null) {
+			return;
+		}
+		final SourceChanges changes = model.drainChanges(source);
+		final Path journalPath = getJournalPath(path);
+		final boolean migrated = migratedSources.remove(source);
 		try {
-			Log.info("Write " + source + " source to database at " + path);
-			mapper.writer(new DefaultPrettyPrinter()).writeValue(path.toFile(), gameDataForSources);
+			if (migrated || !Files.exists(getDatabasePath(path))
+					|| Files.exists(journalPath) && Files.size(journalPath) >= journalMaxSizeMb * 1024 * 1024) {
+				compact(source, path, journalPath);
+			} else if (!changes.isEmpty()) {
+				appendJournal(source, journalPath, changes);
+			}
+			releaseAchievements(source);
 		} catch (IOException e) {
-			Log.error("Cannot write source " + source + " data in " + path);
-		}
-	}
-
-	public void readDatabase(final AbstractRequestService requestService, final Path path) {
-		// Setup console ids
-		requestService.getConsoleIds();
-		try (final FileInputStream fis = new FileInputStream(path.toFile())) {
-			final List<GameData> data = mapper.readValue(fis, new TypeReference<List<GameData>>() {
-			});
-			data.forEach(game -> {
-				final ConsoleData console = model.getConsoleDataMap().get(game.getConsoleId());
-				if (console == null) {
-					Log.error(
-							"No console found for game : " + game.getConsoleName() + " (" + game.getConsoleId() + ")");
-					return;
+			Log.error("Cannot write source " + source + " data in " + path, e);
+			// Keep everything that was not written for the next flush
+			model.restoreChanges(source, changes);
+			if (migrated) {
+				migratedSources.add(source);
+			}
+			if (writer.isShutdown()) {
+				dirtySources.putIfAbsent(source, path);
+			} else {
+				writeDatabase(source, path);
+			}
+		}
+	}
+
+	void appendJournal(final ConsoleSourceEnum source, final Path journalPath, final SourceChanges changes)
+			throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (final GameData game : changes.upserted()) {
+			bytes.write(mapper.writeValueAsBytes(JournalEntry.upsert(game)));
+			bytes.write('\n');
+		}
+		for (final GameData game : changes.removed()) {
+			bytes.write(mapper.writeValueAsBytes(JournalEntry.remove(game)));
+			bytes.write('\n');
+		}
+		try (final FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		}
+		changes.upserted().forEach(game -> getJournaledGames(source).add(game.getId()));
+		Log.info("Append " + changes.upserted().size() + " updated and " + changes.removed().size() + " removed "
+				+ source + " games to journal at " + journalPath);
+	}
+
+	/**
+	 * Writes all games of the source to the database, which then holds every
+	 * journal entry
+	 */
+	private void compact(final ConsoleSourceEnum source, final Path path, final Path journalPath)
+			throws IOException {
+		final List<GameData> gameDataForSources = List.copyOf(model.getLiveGameData(source));
+		final Path databasePath = getDatabasePath(path);
+		Log.info("Write " + source + " source to database at " + databasePath);
+		final IndexedDatabase database = IndexedDatabase.write(databasePath, getMapper(source), isSmile(source),
+				gameDataForSources, databases.get(source));
+		databases.put(source, database);
+		Files.deleteIfExists(journalPath);
+		getJournaledGames(source).clear();
+		writeConsoles(source, getConsolesPath(path));
+		backupLegacyFile(source);
+	}
+
+	private void backupLegacyFile(final ConsoleSourceEnum source) {
+		final Path legacyFile = legacyFiles.remove(source);
+		if (legacyFile == null) {
+			return;
+		}
+		final Path backupFile = legacyFile.resolveSibling(legacyFile.getFileName() + BACKUP_EXTENSION);
+		try {
+			Files.move(legacyFile, backupFile, StandardCopyOption.REPLACE_EXISTING);
+			Log.info("Migrated " + source + " database, previous file kept at " + backupFile);
+		} catch (IOException e) {
+			Log.error("Cannot move migrated database " + legacyFile + " to " + backupFile, e);
+		}
+	}
+
+	/**
+	 * Achievements of unchanged games are only kept softly once the database file
+	 * holds them. Achievements written to the journal only are kept until the next
+	 * compaction
+	 */
+	private void releaseAchievements(final ConsoleSourceEnum source) {
+		if (!databases.containsKey(source)) {
+			return;
+		}
+		final Set<Integer> journaled = getJournaledGames(source);
+		model.getLiveGameData(source).forEach(game -> {
+			if (game.isAchievementDataLoaded() && !model.isChanged(source, game.getId())
+					&& !journaled.contains(game.getId())) {
+				game.releaseAchievementData(getAchievementLoader(source, game.getId()));
+			}
+		});
+	}
+
+	private Set<Integer> getJournaledGames(final ConsoleSourceEnum source) {
+		return journaledGames.computeIfAbsent(source, s -> ConcurrentHashMap.newKeySet());
+	}
+
+	private AchievementLoader getAchievementLoader(final ConsoleSourceEnum source, final int gameId) {
+		return () -> loadAchievements(source, gameId);
+	}
+
+	/**
+	 * Not synchronized on the service, so that lazy reads never wait for a flush.
+	 * The database forwards reads once replaced by a compaction
+	 */
+	private List<AchievementData> loadAchievements(final ConsoleSourceEnum source, final int gameId) {
+		final IndexedDatabase database = databases.get(source);
+		if (database == null) {
+			return List.of();
+		}
+		try {
+			Log.debug("Loading achievements of " + source + " game " + gameId);
+			return database.readAchievements(gameId);
+		} catch (IOException e) {
+			Log.error("Cannot read achievements of " + source + " game " + gameId, e);
+			return List.of();
+		}
+	}
+
+	/**
+	 * @param source
+	 * @return Mapper for the configured database format of the source
+	 */
+	private ObjectMapper getMapper(final ConsoleSourceEnum source) {
+		return isSmile(source) ? smileMapper : mapper;
+	}
+
+	private boolean isSmile(final ConsoleSourceEnum source) {
+		return smileSources.map(sources -> sources.contains(source)).orElse(false);
+	}
+
+	private boolean isSmile(final InputStream is) throws IOException {
+		is.mark(SMILE_HEADER.length);
+		final byte[] header = is.readNBytes(SMILE_HEADER.length);
+		is.reset();
+		return Arrays.equals(header, SMILE_HEADER);
+	}
+
+	private Path getConsolesPath(final Path path) {
+		return path.resolveSibling(path.getFileName() + CONSOLES_EXTENSION);
+	}
+
+	/**
+	 * @param path Configured database path
+	 * @return Path of the binary database file
+	 */
+	private Path getDatabasePath(final Path path) {
+		return path.resolveSibling(
+				FilenameUtils.removeExtension(path.getFileName().toString()) + DATABASE_EXTENSION);
+	}
+
+	private Path getJournalPath(final Path path) {
+		return path.resolveSibling(path.getFileName() + JOURNAL_EXTENSION);
+	}
+
+	/**
+	 * Reads the database once, later calls wait for that read and then use the
+	 * model
+	 * 
+	 * @param source
+	 * @param requestService
+	 * @param path
+	 */
+	public void loadDatabase(final ConsoleSourceEnum source, final AbstractRequestService requestService,
+			final Path path) {
+		final CompletableFuture<Void> load = new CompletableFuture<>();
+		final CompletableFuture<Void> existingLoad = loadedSources.putIfAbsent(source, load);
+		if (existingLoad != null) {
+			existingLoad.join();
+			// Retries a failed console refresh
+			refreshConsoles(source, requestService, path);
+			return;
+		}
+		try {
+			readDatabase(source, requestService, path);
+			load.complete(null);
+		} catch (RuntimeException e) {
+			loadedSources.remove(source);
+			load.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Streams game headers of the database file into the model, then replays the
+	 * journal. Achievements are read on first access
+	 * 
+	 * @param source
+	 * @param requestService
+	 * @param path
+	 */
+	public void readDatabase(final ConsoleSourceEnum source, final AbstractRequestService requestService,
+			final Path path) {
+		// Setup console ids from disk, refreshed from the network in background
+		readConsoles(getConsolesPath(path));
+		readDatabase(source, path);
+		if (migratedSources.contains(source)) {
+			writeDatabase(source, path);
+		}
+		refreshConsoles(source, requestService, path);
+	}
+
+	/**
+	 * Refreshes console data from the network in background, once per source
+	 * unless it failed
+	 */
+	private void refreshConsoles(final ConsoleSourceEnum source, final AbstractRequestService requestService,
+			final Path path) {
+		if (!refreshedSources.add(source)) {
+			return;
+		}
+		CompletableFuture.runAsync(() -> {
+			if (requestService.getConsoleIds() == null) {
+				throw new IllegalStateException("No console data returned");
+			}
+			writeConsoles(source, getConsolesPath(path));
+		}, Infrastructure.getDefaultWorkerPool()).exceptionally(e -> {
+			Log.error("Cannot refresh " + source + " console data", e);
+			refreshedSources.remove(source);
+			return null;
+		});
+	}
+
+	private void readConsoles(final Path consolesPath) {
+		if (!Files.exists(consolesPath)) {
+			return;
+		}
+		try {
+			final List<ConsoleData> consoles = mapper.readValue(consolesPath.toFile(), CONSOLE_LIST_TYPE);
+			consoles.forEach(model::putConsoleData);
+			Log.info("Read " + consoles.size() + " consoles from " + consolesPath);
+		} catch (IOException e) {
+			Log.error("Cannot read consoles file " + consolesPath, e);
+		}
+	}
+
+	private synchronized void writeConsoles(final ConsoleSourceEnum source, final Path consolesPath) {
+		final List<ConsoleData> consoles = model.getConsoleDataMap().values().stream()
+				.filter(console -> source.equals(console.getSource()) && !console.isPlaceholder()).toList();
+		if (consoles.isEmpty()) {
+			return;
+		}
+		final Path tempPath = consolesPath.resolveSibling(consolesPath.getFileName() + TEMP_EXTENSION);
+		try {
+			mapper.writeValue(tempPath.toFile(), consoles);
+			Files.move(tempPath, consolesPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Log.error("Cannot write consoles file " + consolesPath, e);
+		}
+	}
+
+	private synchronized void readDatabase(final ConsoleSourceEnum source, final Path path) {
+		// Pending writes must reach the file before it is read back
+		flush(source);
+		final Path databasePath = getDatabasePath(path);
+		final boolean legacy = !Files.exists(databasePath);
+		final Path readPath = legacy ? path : databasePath;
+		if (Files.exists(readPath)) {
+			if (legacy) {
+				Log.info("Database " + path + " will be migrated to " + databasePath + " for " + source);
+				legacyFiles.put(source, path);
+				migratedSources.add(source);
+			}
+			try {
+				if (isIndexed(readPath)) {
+					final IndexedDatabase database = IndexedDatabase.read(readPath, mapper, smileMapper, game -> {
+						game.setAchievementLoader(getAchievementLoader(source, game.getId()));
+						loadGame(source, game);
+					});
+					databases.put(source, database);
+					if (database.isSmile() != isSmile(source)) {
+						migratedSources.add(source);
+					}
+				} else {
+					// Databases written before the indexed layout are fully read once
+					Log.info("Database " + readPath + " will be migrated to the indexed layout for " + source);
+					databases.remove(source);
+					migratedSources.add(source);
+					try (final InputStream is = new BufferedInputStream(Files.newInputStream(readPath))) {
+						readGames(source, isSmile(is) ? smileMapper : mapper, is);
+					}
+				}
+			} catch (IOException e) {
+				Log.error("Cannot read file " + readPath, e);
+			}
+		}
+		replayJournal(source, getJournalPath(path));
+	}
+
+	private boolean isIndexed(final Path path) throws IOException {
+		try (final InputStream is = new BufferedInputStream(Files.newInputStream(path))) {
+			return IndexedDatabase.isIndexed(is);
+		}
+	}
+
+	private void readGames(final ConsoleSourceEnum source, final ObjectMapper fileMapper, final InputStream is)
+			throws IOException {
+		try (final JsonParser parser = fileMapper.createParser(is)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IOException("Database does not start with an array");
+			}
+			while (parser.nextToken() == JsonToken.START_OBJECT) {
+				loadGame(source, fileMapper.readValue(parser, GameData.class));
+			}
+		}
+	}
+
+	private void loadGame(final ConsoleSourceEnum source, final GameData game) {
+		ConsoleData console = model.getConsoleDataMap().get(game.getConsoleId());
+		if (console == null) {
+			// No console metadata saved yet, game is enough to work offline
+			Log.debug("No console found for game : " + game.getConsoleName() + " (" + game.getConsoleId()
+					+ "), creating it");
+			final ConsoleData gameConsole = new ConsoleData();
+			gameConsole.setId(game.getConsoleId());
+			gameConsole.setName(game.getConsoleName());
+			gameConsole.setSource(source);
+			gameConsole.setActive(true);
+			gameConsole.setGameSystem(true);
+			gameConsole.setPlaceholder(true);
+			console = model.putConsoleData(gameConsole);
+		}
+		model.loadGameData(console, game);
+	}
+
+	void replayJournal(final ConsoleSourceEnum source, final Path journalPath) {
+		if (!Files.exists(journalPath)) {
+			return;
+		}
+		int count = 0;
+		// Entries are written with a single line feed, so lines give the file offsets
+		long validLength = 0;
+		try (final BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank()) {
+					validLength += line.getBytes(StandardCharsets.UTF_8).length + 1;
+					continue;
+				}
+				final JournalEntry entry;
+				try {
+					entry = mapper.readValue(line, JournalEntry.class);
+				} catch (JsonProcessingException e) {
+					// Last line may be partial if the application stopped while appending
+					Log.warn("Ignoring unreadable journal entry in " + journalPath);
+					break;
 				}
-				console.getGameDataMap().put(game.getId(), game);
-			});
+				switch (entry.operation()) {
+				case UPSERT:
+					loadGame(source, entry.game());
+					getJournaledGames(source).add(entry.gameId());
+					break;
+				case REMOVE:
+					final ConsoleData console = model.getConsoleDataMap().get(entry.consoleId());
+					if (console != null) {
+						model.unloadGameData(console, entry.gameId());
+					}
+					break;
+				}
+				validLength += line.getBytes(StandardCharsets.UTF_8).length + 1;
+				count++;
+			}
+			Log.info("Replayed " + count + " journal entries from " + journalPath);
+		} catch (IOException e) {
+			Log.error("Cannot read journal " + journalPath, e);
+			return;
+		}
+		try {
+			repairJournal(journalPath, validLength);
 		} catch (IOException e) {
-			Log.error("Cannot read file " + path, e);
+			// Appending after an unreadable entry would hide every later entry
+			Log.error("Cannot repair journal " + journalPath + ", compacting " + source + " on next write", e);
+			migratedSources.add(source);
+		}
+	}
+
+	/**
+	 * Cuts the unreadable end of the journal, so that the next entries are
+	 * appended on their own line
+	 */
+	private void repairJournal(final Path journalPath, final long validLength) throws IOException {
+		try (final FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+			final long size = channel.size();
+			if (size > validLength) {
+				Log.warn("Truncating journal " + journalPath + " from " + size + " to " + validLength + " bytes");
+				channel.truncate(validLength);
+			} else if (size < validLength) {
+				// Last entry was written without its line end
+				channel.write(ByteBuffer.wrap(new byte[] { '\n' }), size);
+			} else {
+				return;
+			}
+			channel.force(false);
 		}
 	}
 }
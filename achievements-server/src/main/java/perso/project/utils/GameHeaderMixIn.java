@@ -0,0 +1,20 @@
+package perso.project.utils;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import perso.project.model.GameData;
+
+/**
+ * Writes games without their achievements
+ */
+@JsonIgnoreProperties({ "AchievementData" })
+public abstract class GameHeaderMixIn {
+	/**
+	 * @param mapper
+	 * @return Copy of mapper writing only game headers
+	 */
+	public static ObjectMapper headerMapper(final ObjectMapper mapper) {
+		return mapper.copy().addMixIn(GameData.class, GameHeaderMixIn.class);
+	}
+}
@@ -0,0 +1,97 @@
+package perso.project.utils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Holds one {@link HttpClient} per target host so that TCP/TLS connections are
+ * kept alive and reused between requests instead of being rebuilt for each
+ * call. All clients share the same executor.
+ */
+@ApplicationScoped
+public class HttpClientService {
+	static final String KEEPALIVE_TIMEOUT_PROPERTY = "jdk.httpclient.keepalive.timeout";
+
+	@Inject
+	@ConfigProperty(name = "http.client.connect.timeout")
+	Duration connectTimeout;
+
+	@Inject
+	@ConfigProperty(name = "http.client.request.timeout")
+	Duration requestTimeout;
+
+	@Inject
+	@ConfigProperty(name = "http.client.keepalive.timeout")
+	Duration keepAliveTimeout;
+
+	@Inject
+	@ConfigProperty(name = "http.client.executor.threads")
+	int executorThreads;
+
+	private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+	private ExecutorService executor;
+
+	@PostConstruct
+	void init() {
+		// Read once by the JDK when the first client is built
+		if (System.getProperty(KEEPALIVE_TIMEOUT_PROPERTY) == null) {
+			System.setProperty(KEEPALIVE_TIMEOUT_PROPERTY, Long.toString(keepAliveTimeout.toSeconds()));
+		}
+		final AtomicInteger threadIndex = new AtomicInteger(1);
+		final ThreadFactory threadFactory = r -> {
+			final Thread thread = new Thread(r, "http-client-" + threadIndex.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+		executor = Executors.newFixedThreadPool(executorThreads, threadFactory);
+		Log.info("HTTP client executor started with " + executorThreads + " threads");
+	}
+
+	@PreDestroy
+	void shutdown() {
+		clients.clear();
+		executor.shutdownNow();
+	}
+
+	/**
+	 * @param uri
+	 * @return Shared client for the host of the uri
+	 */
+	public HttpClient getClient(final URI uri) {
+		return clients.computeIfAbsent(uri.getHost(), host -> {
+			Log.debug("Creating HTTP client for host " + host);
+			return HttpClient.newBuilder().version(Version.HTTP_2).connectTimeout(connectTimeout)
+					.executor(executor).build();
+		});
+	}
+
+	/**
+	 * @param uri
+	 * @return Request builder with configured request timeout
+	 */
+	public HttpRequest.Builder newRequest(final URI uri) {
+		return HttpRequest.newBuilder(uri).timeout(requestTimeout);
+	}
+
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+}
@@ -0,0 +1,242 @@
+package perso.project.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import perso.project.model.AchievementData;
+import perso.project.model.GameData;
+
+/**
+ * Database file made of a game header section, one achievement block per game
+ * and an index of the blocks, so that achievements are only read when needed.
+ * <br>
+ * Layout : magic, version, Smile flag, index offset, index length, headers
+ * length, headers, achievement blocks, index<br>
+ * Achievement reads run concurrently. Once the file is replaced by a new
+ * database, reads are forwarded to it
+ */
+public class IndexedDatabase {
+	static final byte[] MAGIC = { 'A', 'C', 'D', 'B' };
+	static final int VERSION = 1;
+	static final int FIXED_HEADER_SIZE = MAGIC.length + Integer.BYTES + 1 + 3 * Long.BYTES;
+	static final String TEMP_EXTENSION = ".tmp";
+
+	static final TypeReference<List<AchievementBlock>> BLOCK_LIST_TYPE = new TypeReference<List<AchievementBlock>>() {
+	};
+	static final TypeReference<List<AchievementData>> ACHIEVEMENT_LIST_TYPE = new TypeReference<List<AchievementData>>() {
+	};
+
+	public record AchievementBlock(int gameId, long offset, int length) {
+	}
+
+	private final Path path;
+
+	private final ObjectMapper mapper;
+
+	private final boolean smile;
+
+	private final Map<Integer, AchievementBlock> blocks;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// Database that replaced this file, guarded by lock
+	private IndexedDatabase replacedBy;
+
+	private IndexedDatabase(final Path path, final ObjectMapper mapper, final boolean smile,
+			final List<AchievementBlock> blocks) {
+		this.path = path;
+		this.mapper = mapper;
+		this.smile = smile;
+		this.blocks = new HashMap<>();
+		blocks.forEach(block -> this.blocks.put(block.gameId(), block));
+	}
+
+	public boolean isSmile() {
+		return smile;
+	}
+
+	/**
+	 * @param is
+	 * @return True if stream starts with an indexed database, stream is reset
+	 * @throws IOException
+	 */
+	static boolean isIndexed(final InputStream is) throws IOException {
+		is.mark(MAGIC.length);
+		final byte[] header = is.readNBytes(MAGIC.length);
+		is.reset();
+		return Arrays.equals(header, MAGIC);
+	}
+
+	/**
+	 * Reads index and streams game headers to the consumer, achievements stay on
+	 * disk
+	 *
+	 * @param path
+	 * @param jsonMapper
+	 * @param smileMapper
+	 * @param gameConsumer
+	 * @return Opened database
+	 * @throws IOException
+	 */
+	static IndexedDatabase read(final Path path, final ObjectMapper jsonMapper, final ObjectMapper smileMapper,
+			final Consumer<GameData> gameConsumer) throws IOException {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final ByteBuffer header = read(channel, 0, FIXED_HEADER_SIZE);
+			final byte[] magic = new byte[MAGIC.length];
+			header.get(magic);
+			final int version = header.getInt();
+			if (!Arrays.equals(magic, MAGIC) || version != VERSION) {
+				throw new IOException("Unsupported database " + path + " version " + version);
+			}
+			final boolean smile = header.get() == 1;
+			final long indexOffset = header.getLong();
+			final int indexLength = (int) header.getLong();
+			final ObjectMapper mapper = smile ? smileMapper : jsonMapper;
+
+			final ByteBuffer index = read(channel, indexOffset, indexLength);
+			final List<AchievementBlock> blocks = mapper.readValue(index.array(), BLOCK_LIST_TYPE);
+
+			channel.position(FIXED_HEADER_SIZE);
+			final InputStream is = Channels.newInputStream(channel);
+			try (final JsonParser parser = mapper.createParser(is)) {
+				if (parser.nextToken() != JsonToken.START_ARRAY) {
+					throw new IOException("Database headers do not start with an array");
+				}
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					gameConsumer.accept(mapper.readValue(parser, GameData.class));
+				}
+			}
+			return new IndexedDatabase(path, mapper, smile, blocks);
+		}
+	}
+
+	/**
+	 * Writes games to a temporary file, then replaces the database. Blocks of
+	 * games with achievements not in memory are copied from the previous database
+	 *
+	 * @param path
+	 * @param mapper
+	 * @param smile
+	 * @param games
+	 * @param previous  Database being replaced, may be null
+	 * @return Written database
+	 * @throws IOException
+	 */
+	static IndexedDatabase write(final Path path, final ObjectMapper mapper, final boolean smile,
+			final List<GameData> games, final IndexedDatabase previous) throws IOException {
+		final Path tempPath = path.resolveSibling(path.getFileName() + TEMP_EXTENSION);
+		final List<AchievementBlock> blocks = new ArrayList<>();
+		try (final FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			final byte[] headers = GameHeaderMixIn.headerMapper(mapper).writer()
+					.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValueAsBytes(games);
+			channel.position(FIXED_HEADER_SIZE);
+			writeFully(channel, ByteBuffer.wrap(headers));
+
+			for (final GameData game : games) {
+				final byte[] block;
+				final AchievementBlock previousBlock = previous == null ? null : previous.blocks.get(game.getId());
+				if (!game.isAchievementDataLoaded() && previousBlock != null && previous.smile == smile) {
+					block = previous.readBlock(previousBlock).array();
+				} else {
+					block = mapper.writeValueAsBytes(game.getAchievementData());
+				}
+				blocks.add(new AchievementBlock(game.getId(), channel.position(), block.length));
+				writeFully(channel, ByteBuffer.wrap(block));
+			}
+
+			final long indexOffset = channel.position();
+			final byte[] index = mapper.writeValueAsBytes(blocks);
+			writeFully(channel, ByteBuffer.wrap(index));
+
+			final ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_SIZE);
+			header.put(MAGIC).putInt(VERSION).put((byte) (smile ? 1 : 0)).putLong(indexOffset).putLong(index.length)
+					.putLong(headers.length).flip();
+			channel.position(0);
+			writeFully(channel, header);
+			channel.force(true);
+		}
+		final IndexedDatabase database = new IndexedDatabase(path, mapper, smile, blocks);
+		if (previous == null) {
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} else {
+			// Wait for reads of the previous file, later reads use the new one
+			previous.lock.writeLock().lock();
+			try {
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				previous.replacedBy = database;
+			} finally {
+				previous.lock.writeLock().unlock();
+			}
+		}
+		return database;
+	}
+
+	/**
+	 * @param gameId
+	 * @return Achievements of the game, empty if the game has no block
+	 * @throws IOException
+	 */
+	List<AchievementData> readAchievements(final int gameId) throws IOException {
+		final IndexedDatabase current;
+		lock.readLock().lock();
+		try {
+			current = replacedBy;
+			if (current == null) {
+				final AchievementBlock block = blocks.get(gameId);
+				if (block == null) {
+					return List.of();
+				}
+				return mapper.readValue(readBlock(block).array(), ACHIEVEMENT_LIST_TYPE);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return current.readAchievements(gameId);
+	}
+
+	private ByteBuffer readBlock(final AchievementBlock block) throws IOException {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return read(channel, block.offset(), block.length());
+		}
+	}
+
+	private static ByteBuffer read(final FileChannel channel, final long position, final int length)
+			throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of database");
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+}
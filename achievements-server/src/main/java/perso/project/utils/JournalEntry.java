@@ -0,0 +1,24 @@
+package perso.project.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import perso.project.model.GameData;
+
+/**
+ * Line of a database journal, applied in order on top of the database file
+ */
+@JsonInclude(Include.NON_NULL)
+public record JournalEntry(Operation operation, int consoleId, int gameId, GameData game) {
+	public enum Operation {
+		UPSERT, REMOVE
+	}
+
+	public static JournalEntry upsert(final GameData game) {
+		return new JournalEntry(Operation.UPSERT, game.getConsoleId(), game.getId(), game);
+	}
+
+	public static JournalEntry remove(final GameData game) {
+		return new JournalEntry(Operation.REMOVE, game.getConsoleId(), game.getId(), null);
+	}
+}
@@ -13,6 +13,10 @@ public class LoggingUtils {
 	}
 
 	public static void prettyPrintLevel(final ObjectMapper mapper, final String resBody, final Level level) {
+		// Avoid parsing body again if it is not logged
+		if (!Log.isEnabled(level)) {
+			return;
+		}
 		try {
 			Log.log(level, "Body : " + mapper.writerWithDefaultPrettyPrinter()
 					.writeValueAsString(mapper.readValue(resBody, Object.class)));
@@ -22,6 +26,10 @@ public class LoggingUtils {
 	}
 
 	public static void prettyPrint(final ObjectMapper mapper, final String resBody) {
+		// Avoid parsing body again if it is not logged
+		if (!Log.isTraceEnabled()) {
+			return;
+		}
 		try {
 			Log.trace("Body : " + mapper.writerWithDefaultPrettyPrinter()
 					.writeValueAsString(mapper.readValue(resBody, Object.class)));
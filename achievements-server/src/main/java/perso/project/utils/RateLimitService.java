@@ -0,0 +1,55 @@
+package perso.project.utils;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Keeps one {@link TokenBucket} per host. Requests to hosts without a bucket
+ * are not limited
+ */
+@ApplicationScoped
+public class RateLimitService {
+	@Inject
+	HttpClientService httpClientService;
+
+	private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+	/**
+	 * Registers a bucket for host, if none exists yet
+	 * 
+	 * @param host
+	 * @param permitsPerSecond
+	 * @param burst
+	 */
+	public void register(final String host, final double permitsPerSecond, final int burst) {
+		buckets.computeIfAbsent(host, h -> {
+			Log.info("Rate limiting " + h + " to " + permitsPerSecond + " requests per second with burst " + burst);
+			return new TokenBucket(permitsPerSecond, burst);
+		});
+	}
+
+	/**
+	 * @param uri
+	 * @return Future completed when a request to the uri host is allowed
+	 */
+	public CompletableFuture<Void> acquire(final URI uri) {
+		final TokenBucket bucket = buckets.get(uri.getHost());
+		if (bucket == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		final long waitNanos = bucket.reserve();
+		if (waitNanos == 0) {
+			return CompletableFuture.completedFuture(null);
+		}
+		Log.debug("Delaying request to " + uri.getHost() + " by " + TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms");
+		return CompletableFuture.runAsync(() -> {
+		}, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, httpClientService.getExecutor()));
+	}
+}
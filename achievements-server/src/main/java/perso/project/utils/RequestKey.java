@@ -0,0 +1,9 @@
+package perso.project.utils;
+
+import perso.project.model.enums.ConsoleSourceEnum;
+
+/**
+ * Identifies one game request, to share it between concurrent callers
+ */
+public record RequestKey(ConsoleSourceEnum source, int gameId, String operation) {
+}
@@ -0,0 +1,174 @@
+package perso.project.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Disk backed cache of HTTP response bodies. Entries are keyed by the
+ * normalized URI without API keys, and evicted in least recently used order
+ * once the cache goes over its size cap
+ */
+@ApplicationScoped
+public class ResponseCacheService {
+	static final String EXTENSION = ".json";
+	static final String TEMP_EXTENSION = ".tmp";
+	// Query parameters holding credentials, never part of the cache key
+	static final Set<String> SECRET_PARAMS = Set.of("key", "y", "access_token");
+
+	@Inject
+	@ConfigProperty(name = "http.cache.path")
+	Path cachePath;
+
+	@Inject
+	@ConfigProperty(name = "http.cache.max.size.mb")
+	long maxSizeMb;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	// File name => file size, in access order
+	private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+	private long totalSize = 0;
+
+	@PostConstruct
+	void init() {
+		try {
+			Files.createDirectories(cachePath);
+		} catch (final IOException e) {
+			Log.error("Cannot create HTTP cache folder " + cachePath, e);
+			return;
+		}
+		final File[] files = cachePath.toFile().listFiles((dir, name) -> name.endsWith(EXTENSION));
+		if (files == null) {
+			return;
+		}
+		// Oldest access first
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+		synchronized (index) {
+			for (final File file : files) {
+				index.put(file.getName(), file.length());
+				totalSize += file.length();
+			}
+			evict();
+		}
+		Log.info("HTTP cache loaded with " + index.size() + " entries (" + totalSize / 1024 + " KB)");
+	}
+
+	/**
+	 * @param uri
+	 * @return Cache key for uri, with API keys removed and query parameters sorted
+	 */
+	public String getKey(final URI uri) {
+		final String query = uri.getRawQuery() == null ? ""
+				: Arrays.stream(uri.getRawQuery().split("&")).filter(param -> !param.isEmpty())
+						.filter(param -> !SECRET_PARAMS.contains(param.split("=", 2)[0])).sorted()
+						.collect(Collectors.joining("&"));
+		return uri.getScheme() + "://" + uri.getHost().toLowerCase() + uri.getRawPath() + "?" + query;
+	}
+
+	/**
+	 * @param key
+	 * @return Cached response for key, fresh or not
+	 */
+	public Optional<CachedResponse> get(final String key) {
+		final String fileName = getFileName(key);
+		synchronized (index) {
+			if (!index.containsKey(fileName)) {
+				return Optional.empty();
+			}
+		}
+		final Path file = cachePath.resolve(fileName);
+		try {
+			final CachedResponse cachedResponse = mapper.readValue(file.toFile(), CachedResponse.class);
+			// Keep access order across restarts
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+			return Optional.of(cachedResponse);
+		} catch (final IOException e) {
+			Log.debug("Cannot read cached response for " + key, e);
+			remove(fileName);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * @param cachedResponse
+	 * @param ttl
+	 * @return True if response is younger than ttl
+	 */
+	public boolean isFresh(final CachedResponse cachedResponse, final Duration ttl) {
+		return System.currentTimeMillis() - cachedResponse.getStoredAt() < ttl.toMillis();
+	}
+
+	public void put(final String key, final CachedResponse cachedResponse) {
+		final String fileName = getFileName(key);
+		final Path file = cachePath.resolve(fileName);
+		Path tempFile = null;
+		try {
+			// Own temporary file for each writer, concurrent puts of the same key never
+			// share one
+			tempFile = Files.createTempFile(cachePath, fileName, TEMP_EXTENSION);
+			mapper.writeValue(tempFile.toFile(), cachedResponse);
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			final long size = Files.size(file);
+			synchronized (index) {
+				final Long previousSize = index.put(fileName, size);
+				totalSize += size - (previousSize == null ? 0 : previousSize);
+				evict();
+			}
+		} catch (final IOException e) {
+			Log.error("Cannot write cached response for " + key, e);
+			if (tempFile != null) {
+				tempFile.toFile().delete();
+			}
+		}
+	}
+
+	private void remove(final String fileName) {
+		synchronized (index) {
+			final Long size = index.remove(fileName);
+			if (size != null) {
+				totalSize -= size;
+			}
+		}
+		cachePath.resolve(fileName).toFile().delete();
+	}
+
+	private void evict() {
+		final long maxSize = maxSizeMb * 1024 * 1024;
+		final Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+		while (totalSize > maxSize && iterator.hasNext()) {
+			final Map.Entry<String, Long> eldest = iterator.next();
+			iterator.remove();
+			totalSize -= eldest.getValue();
+			cachePath.resolve(eldest.getKey()).toFile().delete();
+			Log.debug("Evicted " + eldest.getKey() + " from HTTP cache");
+		}
+	}
+
+	private String getFileName(final String key) {
+		return DigestUtils.sha256Hex(key) + EXTENSION;
+	}
+}
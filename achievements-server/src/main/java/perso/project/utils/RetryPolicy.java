@@ -0,0 +1,91 @@
+package perso.project.utils;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Decides if a request should be sent again and how long to wait before. Only
+ * server errors (5xx), too many requests (429) and IO errors are retried
+ */
+@ApplicationScoped
+public class RetryPolicy {
+	static final int TOO_MANY_REQUESTS = 429;
+	static final int SERVER_ERROR = 500;
+	static final String RETRY_AFTER_HEADER = "Retry-After";
+
+	@Inject
+	@ConfigProperty(name = "http.retry.max.attempts")
+	int maxAttempts;
+
+	@Inject
+	@ConfigProperty(name = "http.retry.base.delay")
+	Duration baseDelay;
+
+	@Inject
+	@ConfigProperty(name = "http.retry.max.delay")
+	Duration maxDelay;
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * @param response
+	 * @return True if response status is worth retrying
+	 */
+	public boolean isRetryable(final HttpResponse<?> response) {
+		return response.statusCode() == TOO_MANY_REQUESTS || response.statusCode() >= SERVER_ERROR;
+	}
+
+	/**
+	 * @param error
+	 * @return True if error is worth retrying
+	 */
+	public boolean isRetryable(final Throwable error) {
+		return unwrap(error) instanceof IOException;
+	}
+
+	/**
+	 * Exponential backoff with full jitter. A Retry-After header sent by the
+	 * server is used as the minimum delay
+	 * 
+	 * @param attempt  Attempt that just failed, starting at 1
+	 * @param response Failed response, null if request failed with an error
+	 * @return Delay before next attempt in ms
+	 */
+	public long getDelayMillis(final int attempt, final HttpResponse<?> response) {
+		final long exponentialDelay = baseDelay.toMillis() << Math.min(attempt - 1, 30);
+		final long cappedDelay = Math.min(maxDelay.toMillis(), exponentialDelay);
+		final long delay = ThreadLocalRandom.current().nextLong(cappedDelay + 1);
+		return Math.max(delay, getRetryAfterMillis(response));
+	}
+
+	private long getRetryAfterMillis(final HttpResponse<?> response) {
+		if (response == null) {
+			return 0;
+		}
+		final Optional<String> retryAfter = response.headers().firstValue(RETRY_AFTER_HEADER);
+		try {
+			return retryAfter.map(value -> Duration.ofSeconds(Long.parseLong(value.trim())).toMillis()).orElse(0L);
+		} catch (final NumberFormatException e) {
+			// HTTP date format not managed
+			return 0;
+		}
+	}
+
+	public static Throwable unwrap(final Throwable error) {
+		if (error instanceof CompletionException && error.getCause() != null) {
+			return error.getCause();
+		}
+		return error;
+	}
+}
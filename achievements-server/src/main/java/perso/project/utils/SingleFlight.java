@@ -0,0 +1,45 @@
+package perso.project.utils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.quarkus.logging.Log;
+
+/**
+ * Shares one pending computation between concurrent callers using the same
+ * key. The key is released once the computation completes, so later callers
+ * start a new one
+ */
+public class SingleFlight<K, V> {
+	private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * @param key
+	 * @param computation Started only if no computation is pending for key
+	 * @return Pending computation for key
+	 */
+	public CompletableFuture<V> execute(final K key, final Supplier<CompletableFuture<V>> computation) {
+		final CompletableFuture<V> result = new CompletableFuture<>();
+		final CompletableFuture<V> existing = inFlight.putIfAbsent(key, result);
+		if (existing != null) {
+			Log.debug("Joining pending request " + key);
+			return existing;
+		}
+		try {
+			computation.get().whenComplete((value, error) -> {
+				inFlight.remove(key, result);
+				if (error == null) {
+					result.complete(value);
+				} else {
+					result.completeExceptionally(error);
+				}
+			});
+		} catch (final RuntimeException e) {
+			inFlight.remove(key, result);
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,48 @@
+package perso.project.utils;
+
+/**
+ * Token bucket refilled at a fixed rate up to its burst size. Callers reserve a
+ * token and get back how long they have to wait before using it, so waiting
+ * never holds a thread
+ */
+public class TokenBucket {
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+	private final double permitsPerSecond;
+	private final int burst;
+
+	private double tokens;
+	private long lastRefillNanos;
+
+	public TokenBucket(final double permitsPerSecond, final int burst) {
+		this.permitsPerSecond = permitsPerSecond;
+		this.burst = burst;
+		this.tokens = burst;
+		this.lastRefillNanos = System.nanoTime();
+	}
+
+	/**
+	 * Reserves one token. Tokens can be reserved ahead of time, in which case the
+	 * bucket goes negative and later callers wait longer
+	 * 
+	 * @return Nanoseconds to wait before the reserved token can be used
+	 */
+	public synchronized long reserve() {
+		final long now = System.nanoTime();
+		tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerSecond / NANOS_PER_SECOND);
+		lastRefillNanos = now;
+		tokens -= 1;
+		if (tokens >= 0) {
+			return 0;
+		}
+		return (long) Math.ceil(-tokens * NANOS_PER_SECOND / permitsPerSecond);
+	}
+
+	public double getPermitsPerSecond() {
+		return permitsPerSecond;
+	}
+
+	public int getBurst() {
+		return burst;
+	}
+}
@@ -1,11 +1,13 @@
 package perso.project.xbox360;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -18,20 +20,11 @@ import perso.project.model.GameData;
 import perso.project.model.Model;
 import perso.project.model.enums.ConsoleSourceEnum;
 import perso.project.standalone.AbstractXboxRequestService;
-import perso.project.utils.GenericUtils;
 
 @ApplicationScoped
 public class Xbox360RequestService extends AbstractXboxRequestService {
 	static final String PROFILE_INFO_ID = "00010000";
 	static final String EXTENSION = "gpd";
-	static final String XDBF_MAGIC = "58444246";
-	static final String ACHIEVEMENT_MAGIC = "0000001C";
-	static final int ENTRY_SIZE = 36;
-	static final int FREE_ENTRY_SIZE = 16;
-	static final String NULL_SEPARATION = "0000";
-	static final int UNLOCKED_FLAG = 0x20000;
-
-	int currentIndex = 0;
 
 	@Inject
 	@ConfigProperty(name = "xbox360.emulator.data")
@@ -77,127 +70,85 @@ public class Xbox360RequestService extends AbstractXboxRequestService {
 	@Override
 	protected void parseAchievements(final List<GameData> gameData) {
 		readStandaloneGamesByIds();
+		final File profileInfoFolder = getProfileInfoFolder();
+		if (profileInfoFolder == null) {
+			Log.error("Could not find Xenia profile");
+			return;
+		}
+		// Profile info folder is in the profile folder, named with the profile id
+		final String profileId = profileInfoFolder.getParentFile().getParentFile().getName();
+
+		final List<File> gameDataFiles = Stream.of(profileInfoFolder.listFiles())
+				// Do not parse non GPD files
+				.filter(f -> FilenameUtils.getExtension(f.getName()).equals(EXTENSION))
+				// Ignore profile file
+				.filter(f -> !FilenameUtils.removeExtension(f.getName()).equals(profileId)).toList();
+		parseInParallel(gameDataFiles, this::parseGameAchievements);
+	}
+
+	private File getProfileInfoFolder() {
 		// Take first profile
 		final File profileFolder = xboxEmulatorData.toFile().listFiles()[0];
 		// Find folder for profile info
 		File profileInfoFolder = null;
-		String profileId = "";
 		for (final File profileSubFolder : profileFolder.listFiles()) {
 			if (profileSubFolder.listFiles().length == 1
 					&& profileSubFolder.listFiles()[0].getName().equals(PROFILE_INFO_ID)) {
-				profileId = profileSubFolder.getName();
 				profileInfoFolder = profileSubFolder.listFiles()[0].listFiles()[0];
 			}
 		}
-		if (profileInfoFolder == null) {
-			Log.error("Could not find Xenia profile");
-			return;
-		}
-
-		for (final File gameDataFile : profileInfoFolder.listFiles()) {
-			// Do not parse non GPD files
-			if (!FilenameUtils.getExtension(gameDataFile.getName()).equals(EXTENSION)
-					// Ignore profile file
-					|| FilenameUtils.removeExtension(gameDataFile.getName()).equals(profileId)) {
-				continue;
-			}
+		return profileInfoFolder;
+	}
 
-			final String gameUUID = FilenameUtils.removeExtension(gameDataFile.getName());
-			final String gameName = model.getStandaloneGamesByIds().get(gameUUID);
-			if (gameName == null) {
-				Log.error("No Xbox360 game found for UUID " + gameUUID);
-				continue;
-			}
-			final Optional<GameData> gameDataOpt = model.getConsoleDataMap().get(Model.XBOX360_CONSOLE_ID)
-					.getGameDataMap().values().stream().filter(g -> g.getTitle().equals(gameName)).findFirst();
-			if (gameDataOpt.isEmpty()) {
-				Log.error("No Xbox360 game found for name " + gameName + " and UUID " + gameUUID);
-				continue;
-			}
-			// Link game to UUID
-			gameDataOpt.get().setUUID(gameUUID);
+	private File getGameDataFile(final File profileInfoFolder, final String gameUUID) {
+		return new File(profileInfoFolder, gameUUID + "." + EXTENSION);
+	}
 
-			readAchievementsFile(gameDataOpt.get(), gameDataFile);
-			parseAchievementData(gameDataOpt.get());
+	private Optional<GameData> parseGameAchievements(final File gameDataFile) {
+		final Optional<GameData> gameDataOpt = findGameData(
+				FilenameUtils.removeExtension(gameDataFile.getName()));
+		if (gameDataOpt.isEmpty()) {
+			return gameDataOpt;
 		}
+		return parseGameAchievements(gameDataFile, gameDataOpt.get());
 	}
 
-	private GameData readAchievementsFile(final GameData gameData, final File gameDataFile) {
-		String hexStr = "";
-		try (final FileInputStream fis = new FileInputStream(gameDataFile)) {
-			final byte[] bytes = fis.readAllBytes();
-			for (final byte b : bytes) {
-				hexStr += String.format("%02x", b).toUpperCase();
+	/**
+	 * @param gameDataFile
+	 * @param gameData     Game updated with the GPD file
+	 * @return Game if its GPD file was read
+	 */
+	private Optional<GameData> parseGameAchievements(final File gameDataFile, final GameData gameData) {
+		final String gameUUID = FilenameUtils.removeExtension(gameDataFile.getName());
+		final Lock gameLock = getGameLock(gameData);
+		gameLock.lock();
+		try {
+			final Optional<List<AchievementData>> achievementsOpt = readAchievementsFile(gameDataFile);
+			if (achievementsOpt.isEmpty()) {
+				return Optional.empty();
 			}
-		} catch (final IOException e) {
-			Log.error("Could not read " + gameDataFile);
-		}
-		currentIndex = 0;
-		// Read XdbfHeader struct from Xenia in xdbf_io.h
-		final String magic = readBytes(hexStr, 8);
-		if (!XDBF_MAGIC.equals(magic)) {
-			Log.error("Incorrect XDBF magic " + magic);
-			return gameData;
+			// Link game to UUID
+			gameData.setUUID(gameUUID);
+			parseAchievementData(gameData, achievementsOpt.get());
+		} finally {
+			gameLock.unlock();
 		}
-		// Version, unused
-		readBytes(hexStr, 8);
-		final int entryCount = Integer.parseInt(readBytes(hexStr, 8), 16);
-		// Entry used, unused. We only use total entry count
-		readBytes(hexStr, 8);
-		final int freeCount = Integer.parseInt(readBytes(hexStr, 8), 16);
-		// Free used, unused. We only use total free count
-		readBytes(hexStr, 8);
-
-		// Now, since we have the number of entries in first part of DBF file, we can
-		// skip ahead to achievement data
-		readBytes(hexStr, entryCount * ENTRY_SIZE);
-		readBytes(hexStr, freeCount * FREE_ENTRY_SIZE);
-
-		final String achievementsHexStr = hexStr.substring(currentIndex);
-		currentIndex = 0;
-		// We now are at the start of the achievement data
-		readAchievementsDataFromFile(gameData, achievementsHexStr);
-
-		return gameData;
+		mergeGameData(gameData);
+		return Optional.of(gameData);
 	}
 
-	private GameData readAchievementsDataFromFile(final GameData gameData, final String hexStr) {
-		gameData.getAchievementData().clear();
-		String achievementMagic = readBytes(hexStr, 8);
-		while (ACHIEVEMENT_MAGIC.equals(achievementMagic)) {
-			final AchievementData ach = new AchievementData();
-			final int achievementId = Integer.parseInt(readBytes(hexStr, 8), 16);
-			// Image id, unused because images are in game file, not emulator
-			readBytes(hexStr, 8);
-			final int points = Integer.parseInt(readBytes(hexStr, 8), 16);
-			final int flags = Integer.parseInt(readBytes(hexStr, 8), 16);
-			// Unlock time, unused
-			readBytes(hexStr, 16);
-			final String title = readUntilNull(hexStr);
-			// Unlocked description, unused
-			readUntilNull(hexStr);
-			final String description = readUntilNull(hexStr);
-
-			ach.setId(achievementId);
-			ach.setDisplayOrder(ach.getId());
-			ach.setAchieved((flags & UNLOCKED_FLAG) == UNLOCKED_FLAG);
-			ach.setPoints(points);
-			ach.setRealPoints(ach.getPoints());
-			ach.setDisplayName(GenericUtils.hexToAscii(title));
-			ach.setDescription(GenericUtils.hexToAscii(description));
-
-			gameData.getAchievementData().add(ach);
-
-			achievementMagic = readBytes(hexStr, 8);
+	private Optional<List<AchievementData>> readAchievementsFile(final File gameDataFile) {
+		try {
+			return Optional.of(new ArrayList<>(XdbfReader.readAchievements(gameDataFile.toPath())));
+		} catch (final IOException e) {
+			Log.error("Could not read " + gameDataFile, e);
+			return Optional.empty();
 		}
-
-		return gameData;
 	}
 
-	private GameData parseAchievementData(final GameData gameData) {
-		gameData.setTotalAchievements(gameData.getAchievementData().size());
-		gameData.setAwardedAchievements(
-				(int) gameData.getAchievementData().stream().filter(ach -> ach.isAchieved()).count());
+	private GameData parseAchievementData(final GameData gameData, final List<AchievementData> achievements) {
+		gameData.setTotalAchievements(achievements.size());
+		gameData.setAwardedAchievements((int) achievements.stream().filter(ach -> ach.isAchieved()).count());
 
 		// Parse completion status
 		parseCompletionStatus(gameData);
@@ -206,8 +157,8 @@ public class Xbox360RequestService extends AbstractXboxRequestService {
 		setGameAchievementPercent(gameData);
 
 		// Parse total achievement data
-		gameData.setTotalPoints(gameData.getAchievementData().stream().mapToInt(AchievementData::getPoints).sum());
-		gameData.setTruePoints(gameData.getAchievementData().stream().mapToInt(AchievementData::getRealPoints).sum());
+		gameData.setTotalPoints(achievements.stream().mapToInt(AchievementData::getPoints).sum());
+		gameData.setTruePoints(achievements.stream().mapToInt(AchievementData::getRealPoints).sum());
 		if (gameData.getTotalPoints() != 0) {
 			gameData.setRatio((double) gameData.getTruePoints() / gameData.getTotalPoints());
 		} else {
@@ -215,9 +166,9 @@ public class Xbox360RequestService extends AbstractXboxRequestService {
 		}
 
 		// Parse earned achievement data
-		gameData.setEarnedPoints(gameData.getAchievementData().stream().filter(AchievementData::isAchieved)
+		gameData.setEarnedPoints(achievements.stream().filter(AchievementData::isAchieved)
 				.mapToInt(AchievementData::getPoints).sum());
-		gameData.setEarnedTruePoints(gameData.getAchievementData().stream().filter(AchievementData::isAchieved)
+		gameData.setEarnedTruePoints(achievements.stream().filter(AchievementData::isAchieved)
 				.mapToInt(AchievementData::getRealPoints).sum());
 		if (gameData.getEarnedPoints() != 0) {
 			gameData.setEarnedRatio((double) gameData.getEarnedTruePoints() / gameData.getEarnedPoints());
@@ -225,6 +176,9 @@ public class Xbox360RequestService extends AbstractXboxRequestService {
 			gameData.setEarnedRatio(1);
 		}
 
+		// Publish the achievements once the game counters match them
+		gameData.setAchievementData(achievements);
+
 		Log.info(gameData.getTitle() + " (" + gameData.getId() + ") for Xbox 360 is " + gameData.getCompletionStatus()
 				+ " with " + gameData.getAwardedAchievements() + " / " + gameData.getTotalAchievements()
 				+ " achievements and " + gameData.getTotalPoints() + " (" + gameData.getTruePoints() + ") points");
@@ -240,11 +194,29 @@ public class Xbox360RequestService extends AbstractXboxRequestService {
 			return null;
 		}
 
-		parseAchievements(
-				model.getConsoleDataMap().get(Model.XBOX360_CONSOLE_ID).getGameDataMap().values().stream().toList());
+		// Only parse the GPD file of the game
+		final File profileInfoFolder = getProfileInfoFolder();
+		if (profileInfoFolder == null) {
+			Log.error("Could not find Xenia profile");
+			return existingGameData;
+		}
+		final Optional<String> gameUUID = getGameUUID(existingGameData,
+				uuid -> getGameDataFile(profileInfoFolder, uuid).exists());
+		if (gameUUID.isEmpty()) {
+			Log.error("No UUID found for Xbox 360 game " + existingGameData.getTitle());
+			return existingGameData;
+		}
+		final File gameDataFile = getGameDataFile(profileInfoFolder, gameUUID.get());
+		if (!gameDataFile.exists()) {
+			Log.error("No GPD file for UUID " + gameUUID.get());
+			return existingGameData;
+		}
+		parseGameAchievements(gameDataFile, existingGameData);
 		// Images for Xenia games are located within the game itself, so we can't get
 		// images
 		parseImages(existingGameData);
+		// Images are set after the achievements were merged
+		mergeGameData(existingGameData);
 		return existingGameData;
 	}
 
@@ -257,22 +229,4 @@ public class Xbox360RequestService extends AbstractXboxRequestService {
 
 		return gameData;
 	}
-
-	private String readBytes(final String str, final int nbr) {
-		final String sub = str.substring(currentIndex, currentIndex + nbr);
-		currentIndex += nbr;
-		return sub;
-	}
-
-	private String readUntilNull(final String string) {
-		// String read is in format 004800560057
-		// We read 4 bytes to check for null separato but ignore the 00 ones
-		String totalRead = "";
-		String byteRead = readBytes(string, 4);
-		while (!NULL_SEPARATION.equals(byteRead)) {
-			totalRead += byteRead.substring(2);
-			byteRead = readBytes(string, 4);
-		}
-		return totalRead;
-	}
 }
@@ -0,0 +1,111 @@
+package perso.project.xbox360;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import perso.project.model.AchievementData;
+
+/**
+ * Reads achievements from a Xenia GPD file, based on XdbfHeader and
+ * X_XDBF_GPD_ACHIEVEMENT structs from xdbf_io.h. Each read works on its own
+ * view of the buffer, so the reader can be used from any thread
+ */
+public final class XdbfReader {
+	static final int XDBF_MAGIC = 0x58444246;
+	static final int ACHIEVEMENT_MAGIC = 0x1C;
+	static final int ENTRY_SIZE = 18;
+	static final int FREE_ENTRY_SIZE = 8;
+	static final int UNLOCKED_FLAG = 0x20000;
+	// Magic, id, image id, points, flags and unlock time
+	static final int ACHIEVEMENT_HEADER_SIZE = 5 * Integer.BYTES + Long.BYTES;
+
+	private XdbfReader() {
+	}
+
+	/**
+	 * @param gameDataFile
+	 * @return Achievements of the GPD file
+	 * @throws IOException
+	 */
+	public static List<AchievementData> readAchievements(final Path gameDataFile) throws IOException {
+		// Not mapped, the emulator must be able to replace the file while running
+		return readAchievements(ByteBuffer.wrap(Files.readAllBytes(gameDataFile)));
+	}
+
+	/**
+	 * @param content GPD file content, position and limit are not changed
+	 * @return Achievements of the GPD file
+	 * @throws IOException
+	 */
+	public static List<AchievementData> readAchievements(final ByteBuffer content) throws IOException {
+		final ByteBuffer buffer = content.duplicate().order(ByteOrder.BIG_ENDIAN);
+		if (buffer.remaining() < 6 * Integer.BYTES) {
+			throw new IOException("GPD file is too short");
+		}
+		final int magic = buffer.getInt();
+		if (magic != XDBF_MAGIC) {
+			throw new IOException("Incorrect XDBF magic " + Integer.toHexString(magic));
+		}
+		// Version, unused
+		buffer.getInt();
+		final int entryCount = buffer.getInt();
+		// Entry used, unused. We only use total entry count
+		buffer.getInt();
+		final int freeCount = buffer.getInt();
+		// Free used, unused. We only use total free count
+		buffer.getInt();
+
+		// Skip entry and free tables to reach achievement data
+		final long dataStart = buffer.position() + (long) entryCount * ENTRY_SIZE + (long) freeCount * FREE_ENTRY_SIZE;
+		if (dataStart > buffer.limit()) {
+			throw new IOException("XDBF tables exceed file size");
+		}
+		buffer.position((int) dataStart);
+
+		final List<AchievementData> achievements = new ArrayList<>();
+		while (buffer.remaining() >= ACHIEVEMENT_HEADER_SIZE && buffer.getInt(buffer.position()) == ACHIEVEMENT_MAGIC) {
+			buffer.getInt();
+			final AchievementData ach = new AchievementData();
+			ach.setId(buffer.getInt());
+			// Image id, unused because images are in game file, not emulator
+			buffer.getInt();
+			ach.setPoints(buffer.getInt());
+			final int flags = buffer.getInt();
+			// Unlock time, unused
+			buffer.getLong();
+			ach.setDisplayName(readString(buffer));
+			// Unlocked description, unused
+			readString(buffer);
+			ach.setDescription(readString(buffer));
+
+			ach.setDisplayOrder(ach.getId());
+			ach.setAchieved((flags & UNLOCKED_FLAG) == UNLOCKED_FLAG);
+			ach.setRealPoints(ach.getPoints());
+			achievements.add(ach);
+		}
+		return achievements;
+	}
+
+	/**
+	 * Reads a null terminated UTF-16BE string and moves after the terminator
+	 */
+	private static String readString(final ByteBuffer buffer) throws IOException {
+		final int start = buffer.position();
+		int end = start;
+		while (end + 1 < buffer.limit() && buffer.getChar(end) != 0) {
+			end += Character.BYTES;
+		}
+		if (end + 1 >= buffer.limit()) {
+			throw new IOException("Unterminated string at " + start);
+		}
+		final String value = StandardCharsets.UTF_16BE.decode(buffer.slice(start, end - start)).toString();
+		buffer.position(end + Character.BYTES);
+		return value;
+	}
+}
@@ -0,0 +1,72 @@
+package perso.project.utils;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import perso.project.model.GameData;
+import perso.project.model.Model;
+import perso.project.model.SourceChanges;
+import perso.project.model.enums.ConsoleSourceEnum;
+
+class DatabaseServiceTest {
+	@TempDir
+	Path folder;
+
+	@Test
+	void appendAfterPartialJournalEntry() throws IOException {
+		final Path journalPath = folder.resolve("steam.json" + DatabaseService.JOURNAL_EXTENSION);
+		newService().appendJournal(ConsoleSourceEnum.STEAM, journalPath, upsert(1));
+		// Application stopped while appending
+		Files.write(journalPath, "{\"operation\":\"UPS".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		assertReplayedAfterAppend(journalPath);
+	}
+
+	@Test
+	void appendAfterJournalEntryWithoutLineEnd() throws IOException {
+		final Path journalPath = folder.resolve("steam.json" + DatabaseService.JOURNAL_EXTENSION);
+		newService().appendJournal(ConsoleSourceEnum.STEAM, journalPath, upsert(1));
+		// Application stopped before the line end was written
+		final byte[] journal = Files.readAllBytes(journalPath);
+		Files.write(journalPath, Arrays.copyOf(journal, journal.length - 1));
+
+		assertReplayedAfterAppend(journalPath);
+	}
+
+	private void assertReplayedAfterAppend(final Path journalPath) throws IOException {
+		final DatabaseService restarted = newService();
+		restarted.replayJournal(ConsoleSourceEnum.STEAM, journalPath);
+		assertTrue(restarted.model.getGameData(ConsoleSourceEnum.STEAM, 1).isPresent());
+		restarted.appendJournal(ConsoleSourceEnum.STEAM, journalPath, upsert(2));
+
+		final DatabaseService replayed = newService();
+		replayed.replayJournal(ConsoleSourceEnum.STEAM, journalPath);
+		assertTrue(replayed.model.getGameData(ConsoleSourceEnum.STEAM, 1).isPresent());
+		assertTrue(replayed.model.getGameData(ConsoleSourceEnum.STEAM, 2).isPresent());
+	}
+
+	private static DatabaseService newService() {
+		final DatabaseService service = new DatabaseService();
+		service.model = new Model();
+		return service;
+	}
+
+	private static SourceChanges upsert(final int gameId) {
+		final GameData game = new GameData();
+		game.setId(gameId);
+		game.setTitle("Game " + gameId);
+		game.setConsoleId(Model.STEAM_CONSOLE_ID);
+		game.setConsoleName("Steam");
+		return new SourceChanges(List.of(game), List.of());
+	}
+}